@@ -0,0 +1,82 @@
+package com.expensetracker.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * The rate limiter under contention: eight threads either share one client's
+ * bucket, as a busy client does, or each use their own, which exercises only
+ * the bucket map. The limit is set high enough that no request is rejected.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitingFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private RateLimitingFilter filter;
+    private MockHttpServletRequest sharedRequest;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitingFilter(Integer.MAX_VALUE, new SimpleMeterRegistry());
+        sharedRequest = request("203.0.113.1");
+    }
+
+    @State(Scope.Thread)
+    public static class ClientState {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        MockHttpServletRequest request;
+
+        @Setup
+        public void setUp() {
+            request = request("198.51.100." + NEXT.incrementAndGet());
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sharedClient() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(sharedRequest, response, CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse clientPerThread(ClientState client) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(client.request, response, CHAIN);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/expenses");
+        request.addHeader("X-Forwarded-For", address);
+        return request;
+    }
+}
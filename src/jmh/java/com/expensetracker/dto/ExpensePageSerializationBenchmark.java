@@ -0,0 +1,84 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writing a page of expenses as the list endpoints return it: the full
+ * {@link Page} with reflective bean serialization, as they used to, the
+ * compact envelope with reflective serialization, and the envelope with the
+ * precomputed {@link ExpenseResponseSerializer} the endpoints use now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpensePageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private JsonMapper jsonMapper;
+    // ignores @JsonSerialize, so ExpenseResponse goes through bean introspection
+    private JsonMapper reflectiveMapper;
+    private Page<ExpenseResponse> page;
+    private ExpensePageResponse envelope;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        reflectiveMapper = JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS).build();
+        List<ExpenseResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new ExpenseResponse(
+                    (long) i,
+                    BigDecimal.valueOf(1_250L + i, 2),
+                    "USD",
+                    "Food",
+                    "Lunch with team",
+                    LocalDate.of(2026, 3, 1).plusDays(i % 28)));
+        }
+        page = new PageImpl<>(content,
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "expenseDate")), 10_000);
+        envelope = ExpensePageResponse.of(page);
+    }
+
+    @Benchmark
+    public byte[] pageReflective() {
+        return reflectiveMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] envelopeReflective() {
+        return reflectiveMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] envelopePrecomputed() {
+        return jsonMapper.writeValueAsBytes(envelope);
+    }
+}
@@ -0,0 +1,114 @@
+package com.expensetracker.service;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.CategoryTotal;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseRow;
+import com.expensetracker.util.FxRates;
+
+/**
+ * Response mapping and the category summary with the database taken out:
+ * repositories are stubs returning fixed rows and category names are already
+ * in the cache, as they are for a user's steady-state requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseServiceBenchmark {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "JPY"};
+
+    @Param({"10", "50"})
+    int categories;
+
+    private ExpenseService expenseService;
+    private FxRates rates;
+    private User user;
+    private List<ExpenseRow> page;
+
+    @Setup
+    public void setUp() {
+        List<CategoryTotal> totals = new ArrayList<>();
+        for (int category = 1; category <= categories; category++) {
+            for (String currency : CURRENCIES) {
+                totals.add(new CategoryTotal(category, currency, 1_000L * category + 99));
+            }
+        }
+
+        ExpenseRepository expenseRepository = stub(ExpenseRepository.class, "sumByCategoryAndCurrency", totals);
+        CategoryRepository categoryRepository = stub(CategoryRepository.class, "findById",
+                Optional.of(new Category(null, "Category", "category")));
+        CategoryService categoryService = new CategoryService(
+                categoryRepository, stub(DataSource.class, "getConnection", null), 10_000);
+        for (int category = 1; category <= categories; category++) {
+            categoryService.nameOf(category);
+        }
+
+        expenseService = new ExpenseService(
+                expenseRepository, null, null, categoryService, null, null, null, null, null, null, "USD");
+        rates = FxRates.of("USD", Map.of(
+                "EUR", new BigDecimal("1.0842"),
+                "JPY", new BigDecimal("0.006712")), Instant.now());
+        user = new User();
+        user.setHomeCurrency("USD");
+
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(new ExpenseRow((long) i, 1_250L + i, CURRENCIES[i % CURRENCIES.length],
+                    1 + i % categories, "Lunch with team", LocalDate.of(2026, 3, 1 + i)));
+        }
+    }
+
+    @Benchmark
+    public void toResponsePage(Blackhole blackhole) {
+        for (ExpenseRow row : page) {
+            blackhole.consume(expenseService.toResponse(row));
+        }
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> categorySummary() {
+        return expenseService.categorySummary(user, rates);
+    }
+
+    // Repository stand-in answering one method with a fixed result.
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, invoked, args) -> {
+                    if (invoked.getName().equals(method)) {
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(invoked.getName());
+                }));
+    }
+}
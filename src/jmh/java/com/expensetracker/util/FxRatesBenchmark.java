@@ -0,0 +1,47 @@
+package com.expensetracker.util;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FxRatesBenchmark {
+
+    private FxRates rates;
+    private long amount;
+
+    @Setup
+    public void setUp() {
+        rates = FxRates.of("USD", Map.of(
+                "EUR", new BigDecimal("1.0842"),
+                "JPY", new BigDecimal("0.006712")), Instant.now());
+        amount = 123_456L;
+    }
+
+    @Benchmark
+    public long convertSameCurrency() {
+        return rates.convert(amount, "USD", "USD");
+    }
+
+    @Benchmark
+    public long convertCrossRate() {
+        return rates.convert(amount, "EUR", "JPY");
+    }
+}
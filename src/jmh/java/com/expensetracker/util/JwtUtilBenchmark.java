@@ -0,0 +1,47 @@
+package com.expensetracker.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token issue on login and the validation every authenticated request pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil("benchmark-secret-benchmark-secret-benchmark-secret", 86_400_000L);
+        token = jwtUtil.generateToken(42L, "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "USER");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
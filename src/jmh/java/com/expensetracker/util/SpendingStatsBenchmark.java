@@ -0,0 +1,51 @@
+package com.expensetracker.util;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The anomaly check run on every new expense, on warmed-up statistics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpendingStatsBenchmark {
+
+    private static final SpendingStats.Settings SETTINGS =
+            new SpendingStats.Settings(0.1, 3.0, 0.25, 10, 4.0, 3);
+
+    private SpendingStats stats;
+    private long timestamp;
+    private long amount;
+
+    @Setup
+    public void setUp() {
+        stats = new SpendingStats();
+        timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < 100; i++) {
+            stats.observe(2_000 + i * 7 % 500, timestamp, SETTINGS);
+            timestamp += 3_600_000L;
+        }
+    }
+
+    @Benchmark
+    public Set<SpendingStats.Anomaly> observe() {
+        timestamp += 3_600_000L;
+        amount = (amount + 37) % 500;
+        return stats.observe(2_000 + amount, timestamp, SETTINGS);
+    }
+}
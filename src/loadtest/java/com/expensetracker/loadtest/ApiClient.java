@@ -0,0 +1,87 @@
+package com.expensetracker.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Asynchronous calls against the application under test. Response bodies are
+ * always read in full, as a real client would, then kept as bytes.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+
+    ApiClient(URI baseUri, ExecutorService executor) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> register(String name, String email, String password) {
+        return post(null, "/auth/register", """
+                {"name":"%s","email":"%s","password":"%s"}""".formatted(name, email, password));
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> login(String email, String password) {
+        return post(null, "/auth/login", """
+                {"email":"%s","password":"%s"}""".formatted(email, password));
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> get(String token, String path) {
+        return send(request(token, path).GET());
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> post(String token, String path, String json) {
+        return send(request(token, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> put(String token, String path, String json) {
+        return send(request(token, path)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> delete(String token, String path) {
+        return send(request(token, path).DELETE());
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> upload(String token, String filename, byte[] content) {
+        String boundary = "loadtest-" + Long.toHexString(System.nanoTime());
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return send(request(token, "/files/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    private HttpRequest.Builder request(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest.Builder builder) {
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
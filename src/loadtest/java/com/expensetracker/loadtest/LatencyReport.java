@@ -0,0 +1,107 @@
+package com.expensetracker.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms per endpoint. Response time is measured from when a
+ * request was scheduled to be sent, so a stalled server is charged for the
+ * requests queued behind it (coordinated omission); service time is measured
+ * from when it was actually sent, for comparison.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long intendedNanos, long sentNanos, long completedNanos, int status) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.response.recordValue(micros(completedNanos - intendedNanos));
+        stats.service.recordValue(micros(completedNanos - sentNanos));
+        if (status < 200 || status >= 400) {
+            stats.errors.increment();
+        }
+    }
+
+    void write(Path directory, String header, double seconds) throws IOException {
+        Path histograms = directory.resolve("hgrm");
+        Files.createDirectories(histograms);
+
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+        Histogram allResponse = new Histogram(MAX_MICROS, 3);
+        Histogram allService = new Histogram(MAX_MICROS, 3);
+        long allErrors = 0;
+        for (Endpoint stats : sorted.values()) {
+            allResponse.add(stats.response);
+            allService.add(stats.service);
+            allErrors += stats.errors.sum();
+        }
+
+        try (PrintWriter out = new PrintWriter(
+                Files.newBufferedWriter(directory.resolve("report.txt"), StandardCharsets.UTF_8))) {
+            out.println(header);
+            out.println();
+            out.println("Response time, from intended send (ms)");
+            table(out, sorted, seconds, allResponse, allErrors, true);
+            out.println();
+            out.println("Service time, from actual send (ms)");
+            table(out, sorted, seconds, allService, allErrors, false);
+        }
+
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            String name = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(histograms.resolve(name + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                entry.getValue().response.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void table(PrintWriter out, Map<String, Endpoint> endpoints, double seconds,
+            Histogram total, long totalErrors, boolean responseTime) {
+        out.printf(Locale.ROOT, "%-36s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint stats = entry.getValue();
+            row(out, entry.getKey(), responseTime ? stats.response : stats.service, stats.errors.sum(), seconds);
+        }
+        row(out, "all", total, totalErrors, seconds);
+    }
+
+    private static void row(PrintWriter out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf(Locale.ROOT, "%-36s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), MAX_MICROS);
+    }
+
+    private static final class Endpoint {
+        final Histogram response = new ConcurrentHistogram(MAX_MICROS, 3);
+        final Histogram service = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
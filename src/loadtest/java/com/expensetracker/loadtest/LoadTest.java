@@ -0,0 +1,175 @@
+package com.expensetracker.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.ExpenseTrackerBackendApplication;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end load test on one machine: boots the application in-process on
+ * an in-memory H2 database with a local SMTP sink, seeds users through the
+ * API, then sends a weighted mix of requests at a fixed rate (an open
+ * workload, so a slow server does not slow the arrivals down) and writes
+ * per-endpoint latency percentiles to {@code report.txt}, with the full
+ * distributions as {@code hgrm/*.hgrm} files.
+ *
+ * <p>Options, as {@code --name=value}: {@code rate} (requests per second),
+ * {@code duration} and {@code warmup} (ISO-8601), {@code users},
+ * {@code expenses-per-user}, {@code seed}, {@code max-in-flight} and
+ * {@code report-dir}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT15S"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int expensesPerUser = Integer.parseInt(options.getOrDefault("expenses-per-user", "200"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "512"));
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        Path workDir = Files.createTempDirectory("expense-loadtest");
+        Path ratesFile = workDir.resolve("fx-rates.csv");
+        Files.writeString(ratesFile, "EUR,1.08\nJPY,0.0067\n");
+
+        ExecutorService clientPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ExecutorService seedPool = Executors.newFixedThreadPool(16);
+        try (SmtpSink smtp = SmtpSink.start()) {
+            ConfigurableApplicationContext context = SpringApplication.run(ExpenseTrackerBackendApplication.class,
+                    applicationArgs(smtp.port(), ratesFile, workDir));
+            try {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                ApiClient api = new ApiClient(URI.create("http://127.0.0.1:" + port), clientPool);
+                Workload workload = new Workload(api);
+
+                long seedStart = System.nanoTime();
+                workload.seed(users, expensesPerUser, seed, context.getBean(JdbcTemplate.class),
+                        context.getBean(EntityManagerFactory.class), seedPool);
+                System.out.printf("Seeded %d users with %d expenses each in %.1fs%n",
+                        users, expensesPerUser, (System.nanoTime() - seedStart) / 1e9);
+
+                LatencyReport report = new LatencyReport();
+                run(workload, report, rate, duration, warmup, seed, maxInFlight);
+
+                String header = """
+                        Expense tracker load test
+                        rate=%s/s duration=%s warmup=%s users=%d expenses-per-user=%d seed=%d max-in-flight=%d
+                        java=%s cpus=%d emails=%d"""
+                        .formatted(options.getOrDefault("rate", "200"), duration, warmup, users, expensesPerUser,
+                                seed, maxInFlight, System.getProperty("java.version"),
+                                Runtime.getRuntime().availableProcessors(), smtp.messages());
+                Files.createDirectories(reportDir);
+                report.write(reportDir, header, duration.toNanos() / 1e9);
+                System.out.println(Files.readString(reportDir.resolve("report.txt"), StandardCharsets.UTF_8));
+            } finally {
+                SpringApplication.exit(context);
+            }
+        } finally {
+            seedPool.shutdownNow();
+            clientPool.shutdownNow();
+        }
+    }
+
+    // Requests are scheduled at fixed intervals from the start; each one's
+    // latency is charged from its slot, even if it could only be sent late.
+    private static void run(Workload workload, LatencyReport report, double rate, Duration duration,
+            Duration warmup, long seed, int maxInFlight) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Workload.Operation operation = workload.nextOperation(random);
+            Workload.Session session = workload.nextSession(random);
+            inFlight.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<byte[]>> call;
+            try {
+                call = operation.call().start(session, random);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            boolean measured = intended >= measureFrom;
+            call.whenComplete((response, failure) -> {
+                long completed = System.nanoTime();
+                inFlight.release();
+                if (measured) {
+                    report.record(operation.name(), intended, sent, completed,
+                            failure == null ? response.statusCode() : 0);
+                }
+            });
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+    }
+
+    private static String[] applicationArgs(int smtpPort, Path ratesFile, Path workDir) {
+        return new String[] {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + smtpPort,
+                "--spring.mail.username=loadtest@localhost",
+                "--spring.mail.password=",
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                "--spring.mail.properties.mail.smtp.starttls.required=false",
+                // a few clients send all the load, so the per-client limit is lifted
+                "--app.rate-limit.requests-per-minute=1000000000",
+                "--app.fx.rates-file=" + ratesFile,
+                "--app.file.upload-dir=" + workDir.resolve("uploads"),
+                "--app.file.quarantine-dir=" + workDir.resolve("quarantine"),
+                "--logging.level.root=WARN"
+        };
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,101 @@
+package com.expensetracker.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Just enough of an SMTP server to accept and discard the application's
+ * mail, so the load test exercises the real send path without a mail
+ * service. Every command is acknowledged; message bodies are counted.
+ */
+final class SmtpSink implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final AtomicLong messages = new AtomicLong();
+
+    private SmtpSink(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-sink");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static SmtpSink start() throws IOException {
+        SmtpSink sink = new SmtpSink(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+        sink.connections.execute(sink::acceptLoop);
+        return sink;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    long messages() {
+        return messages.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> converse(socket));
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost SMTP sink");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
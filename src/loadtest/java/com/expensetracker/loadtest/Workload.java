@@ -0,0 +1,230 @@
+package com.expensetracker.loadtest;
+
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Seeded users and the weighted mix of requests run against them. All random
+ * choices for a request are drawn before it is sent, from the single
+ * generator owned by the pacing thread, so a given seed replays the same
+ * sequence of requests.
+ */
+final class Workload {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] CATEGORIES = {
+            "Food", "Transport", "Rent", "Utilities", "Entertainment", "Health", "Shopping", "Travel"};
+    private static final String[] DESCRIPTIONS = {
+            "Groceries", "Lunch with team", "Coffee", "Taxi", "Train ticket", "Electricity bill",
+            "Cinema", "Pharmacy", "Gym membership", "Dinner", "Books", "Flight", "Hotel", "Fuel"};
+
+    private final ApiClient api;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+    private final List<Session> sessions = new ArrayList<>();
+    private String adminToken;
+
+    Workload(ApiClient api) {
+        this.api = api;
+
+        add("POST /auth/login", 5, (session, random) -> api.login(session.email(), PASSWORD));
+        add("POST /expenses", 15, (session, random) -> api.post(session.token(), "/expenses", expenseJson(random))
+                .thenApply(response -> remember(response, session.disposable())));
+        add("GET /expenses", 25, (session, random) -> api.get(session.token(),
+                "/expenses?size=20&page=" + random.nextInt(5)));
+        add("GET /expenses?category", 5, (session, random) -> api.get(session.token(),
+                "/expenses?size=20&category=" + pick(random, CATEGORIES)));
+        // the first word of a seeded description, so searches find something
+        add("GET /expenses/search", 3, (session, random) -> api.get(session.token(),
+                "/expenses/search?size=20&q=" + pick(random, DESCRIPTIONS).split(" ")[0]));
+        add("GET /expenses/{id}", 15, (session, random) -> api.get(session.token(),
+                "/expenses/" + pick(random, session.expenseIds())));
+        add("PUT /expenses/{id}", 8, (session, random) -> api.put(session.token(),
+                "/expenses/" + pick(random, session.expenseIds()), updateJson(random)));
+        add("DELETE /expenses/{id}", 2, (session, random) -> api.delete(session.token(),
+                "/expenses/" + session.disposable().poll()));
+        add("GET /expenses/distribution", 3, (session, random) -> api.get(session.token(),
+                "/expenses/distribution"));
+        add("POST /files/upload", 3, (session, random) -> api.upload(session.token(), "receipt.csv",
+                receipt(random)).thenApply(response -> remember(response, session.fileIds())));
+        add("GET /files", 3, (session, random) -> api.get(session.token(), "/files"));
+        add("GET /files/{id}/download", 5, (session, random) -> api.get(session.token(),
+                "/files/" + pick(random, session.fileIds()) + "/download"));
+        add("GET /analytics/total", 3, (session, random) -> api.get(adminToken, "/analytics/total"));
+        add("GET /analytics/category-summary", 3, (session, random) -> api.get(adminToken,
+                "/analytics/category-summary"));
+        add("GET /analytics/platform/categories", 2, (session, random) -> api.get(adminToken,
+                "/analytics/platform/categories"));
+        add("GET /analytics/platform/top-spenders", 2, (session, random) -> api.get(adminToken,
+                "/analytics/platform/top-spenders?limit=10"));
+        add("GET /analytics/platform/active-users", 1, (session, random) -> api.get(adminToken,
+                "/analytics/platform/active-users"));
+        add("GET /analytics/platform/distribution", 1, (session, random) -> api.get(adminToken,
+                "/analytics/platform/distribution"));
+
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    /**
+     * Registers the users through the API and gives each a history of
+     * expenses and uploaded receipts; the first user is made an admin
+     * directly in the database, since there is no endpoint for that.
+     */
+    void seed(int users, int expensesPerUser, long seed, JdbcTemplate jdbc, EntityManagerFactory entityManagerFactory,
+            ExecutorService pool) throws Exception {
+        List<Future<Session>> seeded = new ArrayList<>(users);
+        for (int user = 0; user < users; user++) {
+            SplittableRandom random = new SplittableRandom(seed + user);
+            String email = "user" + user + "@loadtest.local";
+            seeded.add(pool.submit(() -> seedUser(email, expensesPerUser, random)));
+        }
+        for (Future<Session> session : seeded) {
+            sessions.add(session.get());
+        }
+
+        String adminEmail = sessions.get(0).email();
+        jdbc.update("UPDATE users SET role = 'ADMIN' WHERE email = ?", adminEmail);
+        // the update bypassed Hibernate, so the cached user still has the old role
+        entityManagerFactory.getCache().evict(User.class);
+        adminToken = body(api.login(adminEmail, PASSWORD).join());
+    }
+
+    Operation nextOperation(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    Session nextSession(SplittableRandom random) {
+        return sessions.get(random.nextInt(sessions.size()));
+    }
+
+    private Session seedUser(String email, int expenses, SplittableRandom random) {
+        checked(api.register("Load Test", email, PASSWORD).join());
+        String token = body(api.login(email, PASSWORD).join());
+        Session session = new Session(email, token, new ArrayList<>(expenses),
+                new ConcurrentLinkedQueue<>(), new CopyOnWriteArrayList<>());
+
+        for (int i = 0; i < expenses; i++) {
+            HttpResponse<byte[]> response = checked(api.post(token, "/expenses", expenseJson(random)).join());
+            // one in ten is left for the delete mix to consume
+            if (i % 10 == 9) {
+                remember(response, session.disposable());
+            } else {
+                remember(response, session.expenseIds());
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            remember(checked(api.upload(token, "receipt.csv", receipt(random)).join()), session.fileIds());
+        }
+        return session;
+    }
+
+    private void add(String name, int weight, Call call) {
+        operations.add(new Operation(name, weight, call));
+    }
+
+    private HttpResponse<byte[]> remember(HttpResponse<byte[]> response, Collection<Long> ids) {
+        if (response.statusCode() / 100 == 2) {
+            ids.add(jsonMapper.readTree(response.body()).get("id").asLong());
+        }
+        return response;
+    }
+
+    private static String expenseJson(SplittableRandom random) {
+        int currency = random.nextInt(10);
+        String code;
+        BigDecimal amount;
+        if (currency < 7) {
+            code = "USD";
+            amount = BigDecimal.valueOf(100 + random.nextInt(25_000), 2);
+        } else if (currency < 9) {
+            code = "EUR";
+            amount = BigDecimal.valueOf(100 + random.nextInt(25_000), 2);
+        } else {
+            code = "JPY";
+            amount = BigDecimal.valueOf(100 + random.nextInt(30_000));
+        }
+        LocalDate date = LocalDate.now().minusDays(random.nextInt(180));
+        return """
+                {"amount":%s,"currency":"%s","category":"%s","description":"%s","expenseDate":"%s"}"""
+                .formatted(amount.toPlainString(), code, pick(random, CATEGORIES), pick(random, DESCRIPTIONS), date);
+    }
+
+    // whole amounts, which are valid whatever the expense's currency
+    private static String updateJson(SplittableRandom random) {
+        return """
+                {"amount":%d,"category":"%s","description":"%s","expenseDate":"%s"}"""
+                .formatted(1 + random.nextInt(250), pick(random, CATEGORIES), pick(random, DESCRIPTIONS),
+                        LocalDate.now().minusDays(random.nextInt(180)));
+    }
+
+    private static byte[] receipt(SplittableRandom random) {
+        StringBuilder csv = new StringBuilder("date,description,amount\n");
+        int lines = 50 + random.nextInt(400);
+        for (int i = 0; i < lines; i++) {
+            csv.append(LocalDate.now().minusDays(i)).append(',')
+                    .append(pick(random, DESCRIPTIONS)).append(',')
+                    .append(random.nextInt(10_000) / 100.0).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static HttpResponse<byte[]> checked(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Seeding request " + response.request().uri() + " failed with "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private static String body(HttpResponse<byte[]> response) {
+        return new String(checked(response).body(), StandardCharsets.UTF_8);
+    }
+
+    record Session(String email, String token, List<Long> expenseIds, Queue<Long> disposable, List<Long> fileIds) {
+    }
+
+    record Operation(String name, int weight, Call call) {
+    }
+
+    @FunctionalInterface
+    interface Call {
+        CompletableFuture<HttpResponse<byte[]>> start(Session session, SplittableRandom random);
+    }
+}
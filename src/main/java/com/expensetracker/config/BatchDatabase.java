@@ -0,0 +1,59 @@
+package com.expensetracker.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Small connection pool reserved for background batch jobs, so a large
+ * catch-up run never waits on, or starves, the pool serving HTTP requests.
+ * It is deliberately not exposed as a DataSource bean, which would make the
+ * auto-configured primary pool back off.
+ */
+@Component
+public class BatchDatabase implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchDatabase(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            SqlMonitor sqlMonitor,
+            @Value("${app.batch.pool-size:${app.recurring.workers:4}}") int poolSize) {
+        this.dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        this.dataSource.setPoolName("batch");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        // not a bean, so the pool metrics are not bound automatically
+        this.dataSource.setMetricRegistry(meterRegistry);
+        DataSource monitored = sqlMonitor.wrap(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(monitored);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(monitored));
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public TransactionTemplate transactions() {
+        return transactionTemplate;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,169 @@
+package com.expensetracker.config;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.expensetracker.service.DataVersionService;
+import com.expensetracker.service.FxRateService;
+import com.expensetracker.util.FxRates;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers conditional GETs on a user's expense and analytics reads before
+ * they reach a controller. The weak ETag combines the user's stored
+ * {@link DataVersionService data version} with the exchange rates and the
+ * date, which converted totals and default month ranges depend on, so a
+ * matching {@code If-None-Match} gets 304 Not Modified after a single
+ * primary-key read.
+ *
+ * <p>The version and the response are read in one read-only transaction,
+ * which the services join, so both come from the same database and the
+ * data is never older than the version in its ETag. The transaction ends
+ * as soon as the controller has returned its body, through
+ * {@link ConditionalGetBodyAdvice}, so no connection is held while the body
+ * is serialized and written to the client.
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ANALYTICS = Set.of("/analytics/total", "/analytics/category-summary");
+    // revalidated on every use; the default no-store would stop clients keeping the ETag
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private static final TransactionDefinition READ_ONLY = readOnly();
+
+    private static final String TRANSACTION_ATTRIBUTE = ConditionalGetFilter.class.getName() + ".transaction";
+
+    private final DataVersionService dataVersionService;
+    private final FxRateService fxRateService;
+    private final PlatformTransactionManager transactionManager;
+    private volatile RatesTag ratesTag;
+
+    public ConditionalGetFilter(
+            DataVersionService dataVersionService,
+            FxRateService fxRateService,
+            PlatformTransactionManager transactionManager) {
+        this.dataVersionService = dataVersionService;
+        this.fxRateService = fxRateService;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        boolean expenses = path.equals("/expenses")
+                || (path.startsWith("/expenses/") && !path.equals("/expenses/stream"));
+        return !expenses && !ANALYTICS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String userId = authentication.getName();
+        ReadTransaction transaction = new ReadTransaction(transactionManager.getTransaction(READ_ONLY));
+        request.setAttribute(TRANSACTION_ATTRIBUTE, transaction);
+        try {
+            Optional<Long> version = dataVersionService.version(Long.valueOf(userId));
+            if (version.isPresent()) {
+                String etag = "W/\"" + userId
+                        + "." + Long.toString(version.get(), 36)
+                        + "." + ratesTag()
+                        + "." + Long.toString(LocalDate.now().toEpochDay(), 36) + "\"";
+
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+                if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                    return;
+                }
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            request.removeAttribute(TRANSACTION_ATTRIBUTE);
+            transaction.end();
+        }
+    }
+
+    /**
+     * Ends the request's read transaction, if it is still open. Called once
+     * the response body has been produced and before it is written.
+     */
+    static void endTransaction(ServletRequest request) {
+        if (request.getAttribute(TRANSACTION_ATTRIBUTE) instanceof ReadTransaction transaction) {
+            transaction.end();
+        }
+    }
+
+    // Rates are re-read periodically, usually unchanged, so the tag follows
+    // their content rather than the snapshot.
+    private String ratesTag() {
+        FxRates rates = fxRateService.current();
+        RatesTag tag = ratesTag;
+        if (tag == null || tag.rates() != rates) {
+            tag = new RatesTag(rates, Integer.toUnsignedString(rates.getRates().hashCode(), 36));
+            ratesTag = tag;
+        }
+        return tag.value();
+    }
+
+    private static TransactionDefinition readOnly() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+
+    private record RatesTag(FxRates rates, String value) {
+    }
+
+    private final class ReadTransaction {
+
+        private final TransactionStatus status;
+
+        ReadTransaction(TransactionStatus status) {
+            this.status = status;
+        }
+
+        void end() {
+            if (status.isCompleted()) {
+                return;
+            }
+            // a failed read inside the request only marks it rollback-only
+            if (status.isRollbackOnly()) {
+                transactionManager.rollback(status);
+            } else {
+                transactionManager.commit(status);
+            }
+        }
+    }
+}
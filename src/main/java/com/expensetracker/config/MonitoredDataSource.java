@@ -0,0 +1,91 @@
+package com.expensetracker.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * JDK proxies that pass statement executions on a DataSource's connections
+ * to a {@link SqlMonitor}. Everything else, including {@code unwrap}, goes
+ * straight to the pooled objects underneath.
+ */
+final class MonitoredDataSource {
+
+    private MonitoredDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, SqlMonitor monitor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? connection(connection, monitor) : result;
+        };
+        // keeps close() reachable, so the container still shuts closeable pools down
+        if (dataSource instanceof AutoCloseable) {
+            return proxy(DataSource.class, handler, AutoCloseable.class);
+        }
+        return proxy(DataSource.class, handler);
+    }
+
+    private static Connection connection(Connection connection, SqlMonitor monitor) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall take their SQL first; createStatement gets it per execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return statement(method.getReturnType(), statement, sql, monitor);
+            }
+            return result;
+        });
+    }
+
+    private static Object statement(Class<?> type, Statement statement, String preparedSql, SqlMonitor monitor) {
+        return proxy(type, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                if (sql != null) {
+                    monitor.record(sql, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    // proxies are equal only to themselves, since they serve as transaction resource keys
+    private static <T> T proxy(Class<T> type, InvocationHandler handler, Class<?>... extraInterfaces) {
+        Class<?>[] interfaces = new Class<?>[extraInterfaces.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraInterfaces, 0, interfaces, 1, extraInterfaces.length);
+        return type.cast(Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(),
+                interfaces, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                    }
+                    return handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
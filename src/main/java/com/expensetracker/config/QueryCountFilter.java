@@ -0,0 +1,48 @@
+package com.expensetracker.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marks out each request for the {@link SqlMonitor}, which records how many
+ * statements it issued and reports repeated selects, tagged like
+ * {@code http.server.requests} by method and URI template. Requests that
+ * matched no handler are skipped so the tags stay bounded.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final SqlMonitor sqlMonitor;
+
+    public QueryCountFilter(SqlMonitor sqlMonitor) {
+        this.sqlMonitor = sqlMonitor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        sqlMonitor.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlMonitor.endRequest(request.getMethod(), pattern != null ? pattern.toString() : null);
+        }
+    }
+}
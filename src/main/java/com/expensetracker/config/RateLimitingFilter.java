@@ -13,6 +13,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,10 +27,19 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
     private final int requestsPerMinute;
+    private final Counter userRejections;
+    private final Counter ipRejections;
 
     public RateLimitingFilter(
-            @Value("${app.rate-limit.requests-per-minute:100}") int requestsPerMinute) {
+            @Value("${app.rate-limit.requests-per-minute:100}") int requestsPerMinute,
+            MeterRegistry meterRegistry) {
         this.requestsPerMinute = requestsPerMinute;
+        // tagged by kind of client only; per-client tags would be unbounded
+        this.userRejections = rejections(meterRegistry, "user");
+        this.ipRejections = rejections(meterRegistry, "ip");
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Clients with a rate-limit bucket")
+                .register(meterRegistry);
     }
 
     @Override
@@ -35,6 +47,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         return path.startsWith("/swagger-ui") ||
                 path.startsWith("/v3/api-docs") ||
+                path.startsWith("/actuator") ||
                 path.equals("/error");
     }
 
@@ -52,6 +65,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                     String.valueOf(bucket.getAvailableTokens()));
             filterChain.doFilter(request, response);
         } else {
+            (clientId.startsWith("user:") ? userRejections : ipRejections).increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
             response.getWriter().write(
@@ -79,4 +93,11 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         }
         return "ip:" + request.getRemoteAddr();
     }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String client) {
+        return Counter.builder("rate.limit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,62 @@
+package com.expensetracker.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured pool with a {@link ReadReplicaDataSource}
+ * when replica URLs are set. Replicas use the primary's credentials and
+ * driver, and are never migrated: they are expected to follow the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replicas:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    DataSource dataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas}") String[] replicaUrls,
+            @Value("${app.datasource.replica-selection:round-robin}") String selection,
+            @Value("${app.datasource.replica-pool-size:10}") int replicaPoolSize,
+            @Value("${app.datasource.read-your-writes:PT5S}") Duration readYourWrites) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        // the pools are not beans, so their metrics are not bound automatically
+        primary.setMetricRegistry(meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+
+        return new ReadReplicaDataSource(primary, replicas,
+                ReadReplicaDataSource.Selection.valueOf(selection.trim().toUpperCase(Locale.ROOT).replace('-', '_')),
+                readYourWrites);
+    }
+}
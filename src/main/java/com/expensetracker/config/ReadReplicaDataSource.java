@@ -0,0 +1,137 @@
+package com.expensetracker.config;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the
+ * primary. Connections are fetched lazily, on the first statement, so the
+ * choice is made once the transaction's read-only flag is known; work
+ * outside a transaction always goes to the primary.
+ *
+ * <p>A user whose read-write transaction committed is pinned to the primary
+ * for the read-your-writes window, so their next reads never see a replica
+ * that is still behind. The window is per instance.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    // user ids that wrote within the window; null when the window is zero
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadReplicaDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+            Selection selection, Duration readYourWrites) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.recentWriters = readYourWrites.isZero() ? null
+                : Caffeine.newBuilder().expireAfterWrite(readYourWrites).build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        Router router = new Router();
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        // known up front, so beginning a transaction never fetches a connection
+        // before its read-only flag is set
+        setDefaultAutoCommit(primary.isAutoCommit());
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+
+    private Object route() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && recentWriters != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (user != null && recentWriters != null && recentWriters.getIfPresent(user) != null) {
+            return PRIMARY;
+        }
+        if (selection == Selection.LEAST_BUSY) {
+            return leastBusyReplica();
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private int leastBusyReplica() {
+        int best = 0;
+        int fewest = Integer.MAX_VALUE;
+        // start from a rotating offset so idle replicas share the load
+        int offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (offset + i) % replicas.size();
+            HikariPoolMXBean pool = replicas.get(candidate).getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < fewest) {
+                best = candidate;
+                fewest = active;
+            }
+        }
+        return best;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private final class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return route();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.expensetracker.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every statement sent through a monitored DataSource. Statements are
+ * grouped into shapes, their SQL with literals replaced by {@code ?} and
+ * IN lists collapsed, and each shape gets a {@code db.query} timer tagged by
+ * a short id; the id and SQL of a shape are logged once, when it is first
+ * seen. Statements slower than the threshold are logged with the shape's
+ * SQL, so neither literals nor bind values reach the log.
+ *
+ * <p>Within an HTTP request, the statements are also counted per shape: a
+ * select repeated {@code repeat-threshold} times or more in one request is
+ * reported as a likely N+1.
+ */
+@Component
+public class SqlMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMonitor.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int repeatThreshold;
+    private final int maxShapes;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    // raw SQL to shape, so each distinct statement is normalized only once
+    private final Cache<String, Shape> shapeOfSql;
+    private final Shape overflow;
+    private final ThreadLocal<RequestQueries> request = new ThreadLocal<>();
+
+    public SqlMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql.slow-threshold:PT0.5S}") Duration slowThreshold,
+            @Value("${app.sql.repeat-threshold:10}") int repeatThreshold,
+            @Value("${app.sql.max-shapes:1000}") int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.repeatThreshold = repeatThreshold;
+        this.maxShapes = maxShapes;
+        this.shapeOfSql = Caffeine.newBuilder().maximumSize(maxShapes * 4L).build();
+        this.overflow = new Shape("other", "other", "(shapes beyond app.sql.max-shapes)", timer("other", "other"));
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return MonitoredDataSource.wrap(dataSource, this);
+    }
+
+    void record(String sql, long elapsedNanos) {
+        Shape shape = shapeOf(sql);
+        shape.timer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowThresholdNanos) {
+            logger.warn("Slow query ({} ms) [{}]: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shape.id(), shape.sql());
+        }
+
+        RequestQueries queries = request.get();
+        if (queries != null) {
+            queries.total++;
+            if (shape.operation().equals("select")) {
+                queries.perShape.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    void beginRequest() {
+        request.set(new RequestQueries());
+    }
+
+    /**
+     * Ends the current thread's request; with a URI template, records its
+     * statement count and reports repeated selects against it.
+     */
+    void endRequest(String method, String uri) {
+        RequestQueries queries = request.get();
+        request.remove();
+        if (queries == null || uri == null) {
+            return;
+        }
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements issued per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queries.total);
+
+        queries.perShape.forEach((shape, count) -> {
+            if (count >= repeatThreshold) {
+                logger.warn("Possible N+1 in {} {}: {} executions of [{}] {}",
+                        method, uri, count, shape.id(), shape.sql());
+                Counter.builder("db.query.repeated")
+                        .description("Requests that repeated one select at least app.sql.repeat-threshold times")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .tag("shape", shape.id())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        });
+    }
+
+    private Shape shapeOf(String sql) {
+        Shape cached = shapeOfSql.getIfPresent(sql);
+        if (cached != null) {
+            return cached;
+        }
+
+        String normalized = normalize(sql);
+        Shape shape = shapes.get(normalized);
+        if (shape == null) {
+            if (shapes.size() >= maxShapes) {
+                shape = overflow;
+            } else {
+                shape = shapes.computeIfAbsent(normalized, this::newShape);
+            }
+        }
+        shapeOfSql.put(sql, shape);
+        return shape;
+    }
+
+    private Shape newShape(String normalized) {
+        String id = String.format("%08x", normalized.hashCode());
+        int space = normalized.indexOf(' ');
+        String operation = (space < 0 ? normalized : normalized.substring(0, space)).toLowerCase(Locale.ROOT);
+        if (!operation.matches("select|insert|update|delete|merge|with")) {
+            operation = "other";
+        }
+        logger.info("Query shape [{}]: {}", id, normalized);
+        return new Shape(id, operation, normalized, timer(id, operation));
+    }
+
+    private Timer timer(String id, String operation) {
+        return Timer.builder("db.query")
+                .description("Statement execution time per query shape")
+                .tag("shape", id)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("(?, ...)");
+    }
+
+    private record Shape(String id, String operation, String sql, Timer timer) {
+    }
+
+    private static final class RequestQueries {
+        int total;
+        final Map<Shape, Integer> perShape = new HashMap<>();
+    }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlMonitoringConfig {
+
+    // Static, and resolving the monitor only once a DataSource shows up, so
+    // the meter registry is not created ahead of its own post-processors.
+    @Bean
+    static BeanPostProcessor sqlMonitoringPostProcessor(ObjectProvider<SqlMonitor> sqlMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? sqlMonitor.getObject().wrap(dataSource) : bean;
+            }
+        };
+    }
+}
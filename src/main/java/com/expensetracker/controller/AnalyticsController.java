@@ -1,15 +1,28 @@
 package com.expensetracker.controller;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.expensetracker.dto.ActiveUsersResponse;
+import com.expensetracker.dto.CategorySpendResponse;
+import com.expensetracker.dto.SpendDistributionResponse;
+import com.expensetracker.dto.TopSpenderResponse;
+import com.expensetracker.service.AdminAnalyticsService;
 import com.expensetracker.service.ExpenseService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,13 +32,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Analytics", description = "Expense analytics and reporting APIs (Admin only)")
 public class AnalyticsController {
 
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
     private final ExpenseService expenseService;
+    private final AdminAnalyticsService adminAnalyticsService;
 
-    public AnalyticsController(ExpenseService expenseService) {
+    public AnalyticsController(ExpenseService expenseService, AdminAnalyticsService adminAnalyticsService) {
         this.expenseService = expenseService;
+        this.adminAnalyticsService = adminAnalyticsService;
     }
 
-    @Operation(summary = "Get total expenses", description = "Returns the total sum of all expenses for the current user (Admin only)")
+    @Operation(summary = "Get total expenses", description = "Returns the total sum of all expenses for the current user, converted into their home currency (Admin only)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Total expense retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
@@ -33,11 +50,11 @@ public class AnalyticsController {
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/total")
-    public Double getTotalExpense() {
+    public BigDecimal getTotalExpense() {
         return expenseService.getTotalExpense();
     }
 
-    @Operation(summary = "Get category summary", description = "Returns expense totals grouped by category (Admin only)")
+    @Operation(summary = "Get category summary", description = "Returns expense totals grouped by category, converted into the current user's home currency (Admin only)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category summary retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
@@ -45,7 +62,92 @@ public class AnalyticsController {
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/category-summary")
-    public Map<String, Double> getCategorySummary() {
+    public Map<String, BigDecimal> getCategorySummary() {
         return expenseService.getCategorySummary();
     }
+
+    @Operation(summary = "Get platform spend by category", description = "Returns spend across all users grouped by category name, converted into the FX base currency (Admin only). Defaults to the last 30 days.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Category spend retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+            @ApiResponse(responseCode = "503", description = "Query timed out or too many analytics queries running")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/platform/categories")
+    public CategorySpendResponse getPlatformCategorySpend(
+            @Parameter(description = "Start date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS);
+        validateRange(start, end);
+        return adminAnalyticsService.getCategorySpend(start, end);
+    }
+
+    @Operation(summary = "Get top spenders", description = "Returns the users with the highest spend in the date range, converted into the FX base currency (Admin only). Defaults to the last 30 days.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top spenders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+            @ApiResponse(responseCode = "503", description = "Query timed out or too many analytics queries running")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/platform/top-spenders")
+    public List<TopSpenderResponse> getTopSpenders(
+            @Parameter(description = "Start date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Number of users to return (1-100)") @RequestParam(defaultValue = "10") int limit) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS);
+        validateRange(start, end);
+        return adminAnalyticsService.getTopSpenders(start, end, limit);
+    }
+
+    @Operation(summary = "Get active user count", description = "Returns how many users recorded at least one expense in the date range (Admin only). Defaults to the last 30 days.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Active user count retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+            @ApiResponse(responseCode = "503", description = "Query timed out or too many analytics queries running")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/platform/active-users")
+    public ActiveUsersResponse getActiveUsers(
+            @Parameter(description = "Start date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (ISO format, inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DEFAULT_RANGE_DAYS);
+        validateRange(start, end);
+        return adminAnalyticsService.getActiveUsers(start, end);
+    }
+
+    @Operation(summary = "Get platform spend distribution", description = "Median, p90 and p99 expense amounts and the approximate number of distinct descriptions per category across all users, over whole months in the FX base currency (Admin only). Defaults to the last three months.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Distribution retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid month range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required"),
+            @ApiResponse(responseCode = "503", description = "Query timed out or too many analytics queries running")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/platform/distribution")
+    public List<SpendDistributionResponse> getPlatformSpendDistribution(
+            @Parameter(description = "First month (yyyy-MM)") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month (yyyy-MM), inclusive") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(2);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return adminAnalyticsService.getSpendDistribution(first, last);
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.expensetracker.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.dto.BudgetStatusResponse;
+import com.expensetracker.dto.CreateBudgetRequest;
+import com.expensetracker.service.BudgetService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/budgets")
+@Tag(name = "Budgets", description = "Monthly budget and alert APIs")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    public BudgetController(BudgetService budgetService) {
+        this.budgetService = budgetService;
+    }
+
+    @Operation(summary = "Create a budget", description = "Creates a monthly budget for one category, or for all categories when no category is given. Alerts are emailed at 80% and 100% of the limit.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Budget created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or budget already exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BudgetStatusResponse createBudget(
+            @Valid @RequestBody CreateBudgetRequest request) {
+        return budgetService.createBudget(request);
+    }
+
+    @Operation(summary = "Get budget status", description = "Returns each budget with its running total for the current month")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Budget status retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/status")
+    public List<BudgetStatusResponse> getStatus() {
+        return budgetService.getStatus();
+    }
+
+    @Operation(summary = "Delete a budget", description = "Deletes a budget by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Budget deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Budget not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteBudget(
+            @Parameter(description = "Budget ID") @PathVariable Long id) {
+        budgetService.deleteBudget(id);
+    }
+}
@@ -1,12 +1,15 @@
 package com.expensetracker.controller;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
-import org.springframework.data.domain.Page;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,11 +20,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.expensetracker.dto.CreateExpenseRequest;
+import com.expensetracker.dto.ExpenseFilter;
+import com.expensetracker.dto.ExpensePageResponse;
 import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.SpendDistributionResponse;
 import com.expensetracker.dto.UpdateExpenseRequest;
 import com.expensetracker.service.ExpenseService;
+import com.expensetracker.service.ExpenseStreamService;
+import com.expensetracker.service.SpendSketchService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -36,9 +45,16 @@ import jakarta.validation.Valid;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final SpendSketchService spendSketchService;
+    private final ExpenseStreamService expenseStreamService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(
+            ExpenseService expenseService,
+            SpendSketchService spendSketchService,
+            ExpenseStreamService expenseStreamService) {
         this.expenseService = expenseService;
+        this.spendSketchService = spendSketchService;
+        this.expenseStreamService = expenseStreamService;
     }
 
     @Operation(summary = "Create a new expense", description = "Creates a new expense entry for the authenticated user")
@@ -67,18 +83,58 @@ public class ExpenseController {
         return expenseService.updateExpense(id, request);
     }
 
-    @Operation(summary = "Get all expenses", description = "Retrieves paginated list of expenses with optional filtering")
+    @Operation(summary = "Get all expenses", description = "Retrieves paginated list of expenses. Filters combine with AND; repeated category values match any of them; date and amount bounds may be open-ended.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Expenses retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public Page<ExpenseResponse> getExpenses(
+    public ExpensePageResponse getExpenses(
+            @ParameterObject @Valid ExpenseFilter filter,
+            @PageableDefault(sort = "expenseDate", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable) {
+        return ExpensePageResponse.of(expenseService.getExpenses(filter, pageable));
+    }
+
+    @Operation(summary = "Search expenses", description = "Full-text search over expense descriptions, ranked by relevance, with optional category and date filters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing or blank query"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search")
+    public ExpensePageResponse searchExpenses(
+            @Parameter(description = "Search terms; supports quoted phrases, OR and -exclusions") @RequestParam("q") String query,
             @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
             @Parameter(description = "Filter by start date (ISO format)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "Filter by end date (ISO format)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @PageableDefault(sort = "expenseDate", direction = org.springframework.data.domain.Sort.Direction.DESC) Pageable pageable) {
-        return expenseService.getExpenses(category, startDate, endDate, pageable);
+            Pageable pageable) {
+        return ExpensePageResponse.of(expenseService.searchExpenses(query, category, startDate, endDate, pageable));
+    }
+
+    @Operation(summary = "Get spend distribution", description = "Median, p90 and p99 expense amounts and the approximate number of distinct descriptions per category over whole months, in the user's home currency. Defaults to the last three months.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Distribution retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid month range"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/distribution")
+    public List<SpendDistributionResponse> getSpendDistribution(
+            @Parameter(description = "First month (yyyy-MM)") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month (yyyy-MM), inclusive") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        return spendSketchService.getDistribution(from != null ? from : last.minusMonths(2), last);
+    }
+
+    @Operation(summary = "Stream expense changes", description = "Server-Sent Events stream of the user's expense changes (expense-created, expense-updated, expense-deleted, expenses-generated) and refreshed totals (totals). Sends resync when the client falls too far behind and should refetch.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "429", description = "Too many open streams on this server")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExpenses() {
+        return expenseStreamService.subscribe();
     }
 
     @Operation(summary = "Get expense by ID", description = "Retrieves a specific expense by its ID")
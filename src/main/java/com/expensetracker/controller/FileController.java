@@ -1,9 +1,10 @@
 package com.expensetracker.controller;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.LocalDate;
 
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.expensetracker.dto.FileListResponse;
 import com.expensetracker.dto.FileUploadResponse;
 import com.expensetracker.model.FileUpload;
 import com.expensetracker.service.FileStorageService;
@@ -73,14 +75,20 @@ public class FileController {
                 .body(resource);
     }
 
-    @Operation(summary = "Get all files", description = "Retrieves all files uploaded by the authenticated user")
+    @Operation(summary = "Get files", description = "Retrieves files uploaded by the authenticated user, newest first. Pass the returned nextCursor to fetch the following page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Files retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public List<FileUploadResponse> getUserFiles() {
-        return fileStorageService.getUserFiles();
+    public FileListResponse getUserFiles(
+            @Parameter(description = "Filter by linked expense ID") @RequestParam(required = false) Long expenseId,
+            @Parameter(description = "Filter by upload start date (ISO format)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Filter by upload end date (ISO format)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return fileStorageService.getUserFiles(expenseId, startDate, endDate, cursor, size);
     }
 
     @Operation(summary = "Delete a file", description = "Deletes a file by its ID")
@@ -0,0 +1,61 @@
+package com.expensetracker.controller;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.dto.FxRatesResponse;
+import com.expensetracker.service.FxRateService;
+import com.expensetracker.util.FxRates;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/admin/fx-rates")
+@Tag(name = "Exchange Rates", description = "Exchange rate table used for currency conversion (Admin only)")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @Operation(summary = "Get exchange rates", description = "Returns the rates currently used for conversion, as units of the base currency per unit of each currency (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exchange rates retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public FxRatesResponse getRates() {
+        return toResponse(fxRateService.current());
+    }
+
+    @Operation(summary = "Replace exchange rates", description = "Replaces the whole rate table, e.g. {\"EUR\": 1.08, \"JPY\": 0.0067} (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exchange rates replaced successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown currency or non-positive rate"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping
+    public FxRatesResponse replaceRates(@RequestBody Map<String, BigDecimal> rates) {
+        return toResponse(fxRateService.replaceRates(rates));
+    }
+
+    private FxRatesResponse toResponse(FxRates rates) {
+        return new FxRatesResponse(rates.getBaseCurrency(), rates.getRates(), rates.getLoadedAt());
+    }
+}
@@ -0,0 +1,72 @@
+package com.expensetracker.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.dto.CreateRecurringExpenseRequest;
+import com.expensetracker.dto.RecurringExpenseResponse;
+import com.expensetracker.service.RecurringExpenseService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/recurring-expenses")
+@Tag(name = "Recurring Expenses", description = "Recurring expense template APIs")
+public class RecurringExpenseController {
+
+    private final RecurringExpenseService recurringExpenseService;
+
+    public RecurringExpenseController(RecurringExpenseService recurringExpenseService) {
+        this.recurringExpenseService = recurringExpenseService;
+    }
+
+    @Operation(summary = "Create a recurring expense", description = "Creates a template whose occurrences are added as expenses on every date matched by the cron schedule (e.g. \"0 0 0 1 * *\" or \"@monthly\"), from startDate until the optional endDate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recurring expense created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or schedule"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public RecurringExpenseResponse create(
+            @Valid @RequestBody CreateRecurringExpenseRequest request) {
+        return recurringExpenseService.create(request);
+    }
+
+    @Operation(summary = "List recurring expenses", description = "Returns the current user's recurring expense templates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recurring expenses retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public List<RecurringExpenseResponse> list() {
+        return recurringExpenseService.list();
+    }
+
+    @Operation(summary = "Delete a recurring expense", description = "Stops future occurrences; expenses already generated are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Recurring expense deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Recurring expense not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(
+            @Parameter(description = "Recurring expense ID") @PathVariable Long id) {
+        recurringExpenseService.delete(id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.expensetracker.dto;
+
+import java.time.LocalDate;
+
+public class ActiveUsersResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long activeUsers;
+
+    public ActiveUsersResponse(LocalDate startDate, LocalDate endDate, long activeUsers) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.activeUsers = activeUsers;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+}
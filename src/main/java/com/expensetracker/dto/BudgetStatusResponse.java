@@ -0,0 +1,68 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BudgetStatusResponse {
+
+    private Long id;
+    private String category;
+    private String currency;
+    private LocalDate periodStart;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private int alertLevel;
+
+    public BudgetStatusResponse(
+            Long id,
+            String category,
+            String currency,
+            LocalDate periodStart,
+            BigDecimal monthlyLimit,
+            BigDecimal spent,
+            BigDecimal remaining,
+            int alertLevel
+    ) {
+        this.id = id;
+        this.category = category;
+        this.currency = currency;
+        this.periodStart = periodStart;
+        this.monthlyLimit = monthlyLimit;
+        this.spent = spent;
+        this.remaining = remaining;
+        this.alertLevel = alertLevel;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public BigDecimal getRemaining() {
+        return remaining;
+    }
+
+    public int getAlertLevel() {
+        return alertLevel;
+    }
+}
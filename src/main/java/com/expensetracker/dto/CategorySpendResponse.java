@@ -0,0 +1,41 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public class CategorySpendResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String currency;
+    private Map<String, BigDecimal> totals;
+
+    public CategorySpendResponse(
+            LocalDate startDate,
+            LocalDate endDate,
+            String currency,
+            Map<String, BigDecimal> totals
+    ) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.currency = currency;
+        this.totals = totals;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Map<String, BigDecimal> getTotals() {
+        return totals;
+    }
+}
@@ -0,0 +1,32 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class CreateBudgetRequest {
+
+    // omitted for a budget over all categories
+    private String category;
+
+    @NotNull
+    @Positive
+    private BigDecimal monthlyLimit;
+
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+}
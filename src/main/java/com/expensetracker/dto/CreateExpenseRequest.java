@@ -1,16 +1,22 @@
 package com.expensetracker.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
 public class CreateExpenseRequest {
 
     @NotNull
     @Positive
-    private Double amount;
+    private BigDecimal amount;
+
+    // ISO 4217 code; defaults to app.currency.default
+    @Pattern(regexp = "[A-Z]{3}")
+    private String currency;
 
     @NotBlank
     private String category;
@@ -20,10 +26,14 @@ public class CreateExpenseRequest {
     @NotNull
     private LocalDate expenseDate;
 
-    public Double getAmount() {
+    public BigDecimal getAmount() {
         return amount;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -36,10 +46,14 @@ public class CreateExpenseRequest {
         return expenseDate;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
 
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public void setCategory(String category) {
         this.category = category;
     }
@@ -0,0 +1,90 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+public class CreateRecurringExpenseRequest {
+
+    @NotNull
+    @Positive
+    private BigDecimal amount;
+
+    // ISO 4217 code; defaults to app.currency.default
+    @Pattern(regexp = "[A-Z]{3}")
+    private String currency;
+
+    @NotBlank
+    private String category;
+
+    private String description;
+
+    // cron expression such as "0 0 0 1 * *" or a macro such as "@monthly"
+    @NotBlank
+    private String schedule;
+
+    @NotNull
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
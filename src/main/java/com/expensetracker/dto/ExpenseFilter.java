@@ -0,0 +1,96 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public class ExpenseFilter {
+
+    @Parameter(description = "Filter by category; repeat to match any of several")
+    private List<String> category;
+
+    @Parameter(description = "Filter by currency (ISO 4217); amount bounds are in this currency, app.currency.default if omitted")
+    @Pattern(regexp = "[A-Z]{3}")
+    private String currency;
+
+    @Parameter(description = "Minimum amount (inclusive)")
+    @PositiveOrZero
+    private BigDecimal minAmount;
+
+    @Parameter(description = "Maximum amount (inclusive)")
+    @PositiveOrZero
+    private BigDecimal maxAmount;
+
+    @Parameter(description = "Filter by start date (ISO format, inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @Parameter(description = "Filter by end date (ISO format, inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    @Parameter(description = "Case-insensitive description prefix")
+    private String descriptionPrefix;
+
+    public List<String> getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getDescriptionPrefix() {
+        return descriptionPrefix;
+    }
+
+    public void setCategory(List<String> category) {
+        this.category = category;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public void setDescriptionPrefix(String descriptionPrefix) {
+        this.descriptionPrefix = descriptionPrefix;
+    }
+}
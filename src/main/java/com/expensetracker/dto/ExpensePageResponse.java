@@ -0,0 +1,65 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of expenses with only the paging fields clients use, in the same
+ * shape as Spring Data's {@code PagedModel}. Serializing a {@link Page}
+ * directly also writes its pageable and sort state, several times over.
+ */
+public class ExpensePageResponse {
+
+    private List<ExpenseResponse> content;
+    private PageMetadata page;
+
+    public ExpensePageResponse(List<ExpenseResponse> content, PageMetadata page) {
+        this.content = content;
+        this.page = page;
+    }
+
+    public static ExpensePageResponse of(Page<ExpenseResponse> page) {
+        return new ExpensePageResponse(page.getContent(), new PageMetadata(
+                page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()));
+    }
+
+    public List<ExpenseResponse> getContent() {
+        return content;
+    }
+
+    public PageMetadata getPage() {
+        return page;
+    }
+
+    public static class PageMetadata {
+
+        private int size;
+        private int number;
+        private long totalElements;
+        private int totalPages;
+
+        public PageMetadata(int size, int number, long totalElements, int totalPages) {
+            this.size = size;
+            this.number = number;
+            this.totalElements = totalElements;
+            this.totalPages = totalPages;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public long getTotalElements() {
+            return totalElements;
+        }
+
+        public int getTotalPages() {
+            return totalPages;
+        }
+    }
+}
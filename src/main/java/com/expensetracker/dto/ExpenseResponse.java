@@ -1,37 +1,64 @@
 package com.expensetracker.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
+import tools.jackson.databind.annotation.JsonSerialize;
+
+@JsonSerialize(using = ExpenseResponseSerializer.class)
 public class ExpenseResponse {
 
     private Long id;
-    private Double amount;
+    private BigDecimal amount;
+    private String currency;
     private String category;
     private String description;
     private LocalDate expenseDate;
+    // set on creation only: AMOUNT_OUTLIER, FREQUENCY_SPIKE
+    private List<String> anomalies;
 
     public ExpenseResponse(
             Long id,
-            Double amount,
+            BigDecimal amount,
+            String currency,
             String category,
             String description,
             LocalDate expenseDate
+    ) {
+        this(id, amount, currency, category, description, expenseDate, List.of());
+    }
+
+    public ExpenseResponse(
+            Long id,
+            BigDecimal amount,
+            String currency,
+            String category,
+            String description,
+            LocalDate expenseDate,
+            List<String> anomalies
     ) {
         this.id = id;
         this.amount = amount;
+        this.currency = currency;
         this.category = category;
         this.description = description;
         this.expenseDate = expenseDate;
+        this.anomalies = anomalies;
     }
 
     public Long getId() {
         return id;
     }
 
-    public Double getAmount() {
+    public BigDecimal getAmount() {
         return amount;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -43,4 +70,8 @@ public class ExpenseResponse {
     public LocalDate getExpenseDate() {
         return expenseDate;
     }
+
+    public List<String> getAnomalies() {
+        return anomalies;
+    }
 }
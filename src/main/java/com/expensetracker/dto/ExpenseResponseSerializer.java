@@ -0,0 +1,61 @@
+package com.expensetracker.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes {@link ExpenseResponse} field by field, with property names
+ * encoded once up front, instead of through reflective bean introspection.
+ * Expense pages and streams write thousands of these, so the per-object
+ * cost matters. The properties and values are the same as the default
+ * serializer writes.
+ */
+public class ExpenseResponseSerializer extends ValueSerializer<ExpenseResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString CURRENCY = new SerializedString("currency");
+    private static final SerializableString CATEGORY = new SerializedString("category");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString EXPENSE_DATE = new SerializedString("expenseDate");
+    private static final SerializableString ANOMALIES = new SerializedString("anomalies");
+
+    @Override
+    public void serialize(ExpenseResponse value, JsonGenerator gen, SerializationContext context) {
+        gen.writeStartObject(value);
+
+        gen.writeName(ID);
+        if (value.getId() != null) {
+            gen.writeNumber(value.getId());
+        } else {
+            gen.writeNull();
+        }
+        gen.writeName(AMOUNT);
+        gen.writeNumber(value.getAmount());
+        gen.writeName(CURRENCY);
+        gen.writeString(value.getCurrency());
+        gen.writeName(CATEGORY);
+        gen.writeString(value.getCategory());
+        gen.writeName(DESCRIPTION);
+        gen.writeString(value.getDescription());
+        gen.writeName(EXPENSE_DATE);
+        // ISO-8601, as the default LocalDate serializer writes it
+        gen.writeString(value.getExpenseDate() != null ? value.getExpenseDate().toString() : null);
+
+        gen.writeName(ANOMALIES);
+        if (value.getAnomalies() != null) {
+            gen.writeStartArray(value.getAnomalies(), value.getAnomalies().size());
+            for (String anomaly : value.getAnomalies()) {
+                gen.writeString(anomaly);
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeNull();
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,29 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class ExpenseTotalsResponse {
+
+    private BigDecimal total;
+    private String currency;
+    private Map<String, BigDecimal> categories;
+
+    public ExpenseTotalsResponse(BigDecimal total, String currency, Map<String, BigDecimal> categories) {
+        this.total = total;
+        this.currency = currency;
+        this.categories = categories;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Map<String, BigDecimal> getCategories() {
+        return categories;
+    }
+}
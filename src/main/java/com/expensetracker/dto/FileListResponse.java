@@ -0,0 +1,22 @@
+package com.expensetracker.dto;
+
+import java.util.List;
+
+public class FileListResponse {
+
+    private List<FileUploadResponse> files;
+    private Long nextCursor;
+
+    public FileListResponse(List<FileUploadResponse> files, Long nextCursor) {
+        this.files = files;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<FileUploadResponse> getFiles() {
+        return files;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
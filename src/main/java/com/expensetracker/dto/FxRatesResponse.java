@@ -0,0 +1,30 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+public class FxRatesResponse {
+
+    private String baseCurrency;
+    private Map<String, BigDecimal> rates;
+    private Instant loadedAt;
+
+    public FxRatesResponse(String baseCurrency, Map<String, BigDecimal> rates, Instant loadedAt) {
+        this.baseCurrency = baseCurrency;
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,75 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RecurringExpenseResponse {
+
+    private Long id;
+    private BigDecimal amount;
+    private String currency;
+    private String category;
+    private String description;
+    private String schedule;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextRunDate;
+
+    public RecurringExpenseResponse(
+            Long id,
+            BigDecimal amount,
+            String currency,
+            String category,
+            String description,
+            String schedule,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDate nextRunDate
+    ) {
+        this.id = id;
+        this.amount = amount;
+        this.currency = currency;
+        this.category = category;
+        this.description = description;
+        this.schedule = schedule;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nextRunDate = nextRunDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDate getNextRunDate() {
+        return nextRunDate;
+    }
+}
@@ -2,6 +2,7 @@ package com.expensetracker.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 public class RegisterRequest {
@@ -16,6 +17,10 @@ public class RegisterRequest {
     @Size(min = 6)
     private String password;
 
+    // ISO 4217 code reports are converted into; defaults to app.currency.default
+    @Pattern(regexp = "[A-Z]{3}")
+    private String homeCurrency;
+
     public String getName() {
         return name;
     }
@@ -28,6 +33,10 @@ public class RegisterRequest {
         return password;
     }
 
+    public String getHomeCurrency() {
+        return homeCurrency;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -39,4 +48,8 @@ public class RegisterRequest {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public void setHomeCurrency(String homeCurrency) {
+        this.homeCurrency = homeCurrency;
+    }
 }
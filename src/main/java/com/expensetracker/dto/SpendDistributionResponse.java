@@ -0,0 +1,59 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+public class SpendDistributionResponse {
+
+    private String category;
+    private String currency;
+    private long expenseCount;
+    private BigDecimal median;
+    private BigDecimal p90;
+    private BigDecimal p99;
+    private long distinctDescriptions;
+
+    public SpendDistributionResponse(
+            String category,
+            String currency,
+            long expenseCount,
+            BigDecimal median,
+            BigDecimal p90,
+            BigDecimal p99,
+            long distinctDescriptions) {
+        this.category = category;
+        this.currency = currency;
+        this.expenseCount = expenseCount;
+        this.median = median;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.distinctDescriptions = distinctDescriptions;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+
+    public BigDecimal getMedian() {
+        return median;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public long getDistinctDescriptions() {
+        return distinctDescriptions;
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+public class TopSpenderResponse {
+
+    private Long userId;
+    private String name;
+    private String email;
+    private BigDecimal total;
+    private String currency;
+
+    public TopSpenderResponse(Long userId, String name, String email, BigDecimal total, String currency) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+        this.total = total;
+        this.currency = currency;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
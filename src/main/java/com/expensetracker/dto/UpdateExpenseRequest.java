@@ -1,5 +1,6 @@
 package com.expensetracker.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import jakarta.validation.constraints.Positive;
@@ -7,7 +8,7 @@ import jakarta.validation.constraints.Positive;
 public class UpdateExpenseRequest {
 
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    private BigDecimal amount;
 
     private String category;
 
@@ -15,7 +16,7 @@ public class UpdateExpenseRequest {
 
     private LocalDate expenseDate;
 
-    public Double getAmount() {
+    public BigDecimal getAmount() {
         return amount;
     }
 
@@ -31,7 +32,7 @@ public class UpdateExpenseRequest {
         return expenseDate;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
 
@@ -0,0 +1,7 @@
+package com.expensetracker.exception;
+
+public class BudgetAlreadyExistsException extends RuntimeException {
+    public BudgetAlreadyExistsException(String message) {
+        super(message);
+    }
+}
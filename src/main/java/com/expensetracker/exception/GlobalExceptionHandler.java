@@ -19,6 +19,12 @@ public class GlobalExceptionHandler {
         return Map.of("message", ex.getMessage());
     }
 
+    @ExceptionHandler(BudgetAlreadyExistsException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> handleBudgetExists(BudgetAlreadyExistsException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public Map<String, String> handleInvalidCredentials(InvalidCredentialsException ex) {
@@ -40,6 +46,12 @@ public class GlobalExceptionHandler {
         return response;
     }
 
+    @ExceptionHandler(AnalyticsUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleAnalyticsUnavailable(AnalyticsUnavailableException ex) {
+        return Map.of("message", ex.getMessage());
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
     public Map<String, String> handleMaxUploadSize(MaxUploadSizeExceededException ex) {
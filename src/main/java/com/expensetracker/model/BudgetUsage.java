@@ -0,0 +1,77 @@
+package com.expensetracker.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "budget_usage",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_budget_usage_period",
+                columnNames = {"budget_id", "period_start"}))
+public class BudgetUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "spent_minor", nullable = false)
+    private long spentMinor;
+
+    // highest alert threshold (percent) already raised for this period
+    @Column(nullable = false)
+    private int alertLevel;
+
+    protected BudgetUsage() {
+    }
+
+    public BudgetUsage(Budget budget, LocalDate periodStart, long spentMinor) {
+        this.budget = budget;
+        this.periodStart = periodStart;
+        this.spentMinor = spentMinor;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public long getSpentMinor() {
+        return spentMinor;
+    }
+
+    public int getAlertLevel() {
+        return alertLevel;
+    }
+
+    public void addSpent(long deltaMinor) {
+        this.spentMinor = Math.addExact(spentMinor, deltaMinor);
+    }
+
+    public void setAlertLevel(int alertLevel) {
+        this.alertLevel = alertLevel;
+    }
+}
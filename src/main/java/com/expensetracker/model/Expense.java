@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -19,14 +20,19 @@ import jakarta.persistence.Table;
 public class Expense {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_seq")
+    @SequenceGenerator(name = "expenses_seq", sequenceName = "expenses_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
-    private Double amount;
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
 
-    @Column(nullable = false)
-    private String category;
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
 
     private String description;
 
@@ -49,11 +55,15 @@ public class Expense {
         return id;
     }
 
-    public Double getAmount() {
-        return amount;
+    public long getAmountMinor() {
+        return amountMinor;
     }
 
-    public String getCategory() {
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Category getCategory() {
         return category;
     }
 
@@ -73,11 +83,15 @@ public class Expense {
         return createdAt;
     }
 
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
     }
 
-    public void setCategory(String category) {
+    public void setCategory(Category category) {
         this.category = category;
     }
 
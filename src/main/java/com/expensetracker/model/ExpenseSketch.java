@@ -0,0 +1,105 @@
+package com.expensetracker.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "expense_sketches",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_expense_sketches_key",
+                columnNames = {"user_id", "category_id", "period_start", "currency"}))
+public class ExpenseSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+
+    // serialized QuantileSketch of amount_minor
+    @Column(nullable = false)
+    private byte[] amounts;
+
+    // serialized DistinctCountSketch of normalized descriptions
+    @Column(nullable = false)
+    private byte[] descriptions;
+
+    protected ExpenseSketch() {
+    }
+
+    public ExpenseSketch(User user, Category category, LocalDate periodStart, String currency) {
+        this.user = user;
+        this.category = category;
+        this.periodStart = periodStart;
+        this.currency = currency;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getExpenseCount() {
+        return expenseCount;
+    }
+
+    public void setExpenseCount(long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+
+    public byte[] getAmounts() {
+        return amounts;
+    }
+
+    public void setAmounts(byte[] amounts) {
+        this.amounts = amounts;
+    }
+
+    public byte[] getDescriptions() {
+        return descriptions;
+    }
+
+    public void setDescriptions(byte[] descriptions) {
+        this.descriptions = descriptions;
+    }
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "fx_rates")
+public class FxRate {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 24, scale = 12)
+    private BigDecimal rate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected FxRate() {
+    }
+
+    public FxRate(String currency, BigDecimal rate, LocalDateTime updatedAt) {
+        this.currency = currency;
+        this.rate = rate;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.expensetracker.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "reconciliation_checkpoints")
+public class ReconciliationCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastFileId;
+
+    // upload directory shard ("00".."ff") the last batch finished
+    @Column(length = 2)
+    private String lastShard;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    protected ReconciliationCheckpoint() {
+    }
+
+    public ReconciliationCheckpoint(String name) {
+        this.name = name;
+        this.lastFileId = 0L;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getLastFileId() {
+        return lastFileId;
+    }
+
+    public String getLastShard() {
+        return lastShard;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setLastFileId(Long lastFileId) {
+        this.lastFileId = lastFileId;
+    }
+
+    public void setLastShard(String lastShard) {
+        this.lastShard = lastShard;
+    }
+}
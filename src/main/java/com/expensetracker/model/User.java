@@ -2,6 +2,12 @@ package com.expensetracker.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,19 +16,27 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
+// Loaded on nearly every request, by id from the token or by email at login,
+// so both lookups are served from the second-level cache.
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "userEmails")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -33,6 +47,9 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    @Column(name = "home_currency", nullable = false, length = 3)
+    private String homeCurrency;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -61,6 +78,10 @@ public class User {
         return role;
     }
 
+    public String getHomeCurrency() {
+        return homeCurrency;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -77,6 +98,10 @@ public class User {
         this.password = password;
     }
 
+    public void setHomeCurrency(String homeCurrency) {
+        this.homeCurrency = homeCurrency;
+    }
+
     public void setRole(Role role) {
         this.role = role;
     }
@@ -0,0 +1,28 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.User;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    Budget findByIdAndUser(Long id, User user);
+
+    @Query("select count(b) > 0 from Budget b left join b.category c "
+            + "where b.user.id = :userId and "
+            + "((:categoryId is null and c.id is null) or c.id = :categoryId)")
+    boolean existsForScope(@Param("userId") Long userId, @Param("categoryId") Integer categoryId);
+
+    @Query("select new com.expensetracker.repository.BudgetStatusRow("
+            + "b.id, c.id, b.limitMinor, b.currency, coalesce(u.spentMinor, 0), coalesce(u.alertLevel, 0)) "
+            + "from Budget b left join b.category c "
+            + "left join BudgetUsage u on u.budget = b and u.periodStart = :period "
+            + "where b.user.id = :userId order by b.id")
+    List<BudgetStatusRow> findStatus(@Param("userId") Long userId, @Param("period") LocalDate period);
+}
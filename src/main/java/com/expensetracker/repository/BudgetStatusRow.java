@@ -0,0 +1,11 @@
+package com.expensetracker.repository;
+
+public record BudgetStatusRow(
+        Long budgetId,
+        Integer categoryId,
+        long limitMinor,
+        String currency,
+        long spentMinor,
+        int alertLevel
+) {
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.expensetracker.model.BudgetUsage;
+
+public interface BudgetUsageRepository extends JpaRepository<BudgetUsage, Long> {
+
+    @Modifying
+    @Query("delete from BudgetUsage u where u.budget.id = :budgetId")
+    void deleteByBudgetId(@Param("budgetId") Long budgetId);
+}
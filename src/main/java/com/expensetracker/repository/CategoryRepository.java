@@ -0,0 +1,12 @@
+package com.expensetracker.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.expensetracker.model.Category;
+
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    Optional<Category> findByUserIdAndNormalizedName(Long userId, String normalizedName);
+}
@@ -0,0 +1,4 @@
+package com.expensetracker.repository;
+
+public record CategoryTotal(Integer categoryId, String currency, long totalMinor) {
+}
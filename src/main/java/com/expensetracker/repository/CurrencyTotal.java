@@ -0,0 +1,4 @@
+package com.expensetracker.repository;
+
+public record CurrencyTotal(String currency, long totalMinor) {
+}
@@ -0,0 +1,16 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ExpenseCriteria(
+        Long userId,
+        List<Integer> categoryIds,
+        Long minAmountMinor,
+        Long maxAmountMinor,
+        LocalDate startDate,
+        LocalDate endDate,
+        String descriptionPrefix,
+        String currency
+) {
+}
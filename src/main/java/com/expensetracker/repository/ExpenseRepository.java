@@ -1,37 +1,49 @@
 package com.expensetracker.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.expensetracker.model.Expense;
 import com.expensetracker.model.User;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
 
-    Page<Expense> findByUser(User user, Pageable pageable);
+    String SELECT_ROW = "select new com.expensetracker.repository.ExpenseRow("
+            + "e.id, e.amountMinor, e.currency, e.category.id, e.description, e.expenseDate) from Expense e ";
 
-    List<Expense> findByUser(User user);
-
-    Page<Expense> findByUserAndCategory(User user, String category, Pageable pageable);
+    Expense findByIdAndUser(Long id, User user);
 
-    Page<Expense> findByUserAndExpenseDateBetween(
-            User user,
-            LocalDate startDate,
-            LocalDate endDate,
-            Pageable pageable
+    @Query(SELECT_ROW + "where e.id = :id and e.user.id = :userId")
+    Optional<ExpenseRow> findRowByIdAndUserId(
+            @Param("id") Long id,
+            @Param("userId") Long userId
     );
 
-    Page<Expense> findByUserAndCategoryAndExpenseDateBetween(
-            User user,
-            String category,
-            LocalDate startDate,
-            LocalDate endDate,
-            Pageable pageable
+    @Query(SELECT_ROW + "where e.id in :ids")
+    List<ExpenseRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.expensetracker.repository.CurrencyTotal(e.currency, sum(e.amountMinor)) "
+            + "from Expense e where e.user.id = :userId group by e.currency")
+    List<CurrencyTotal> sumByCurrency(@Param("userId") Long userId);
+
+    @Query("select new com.expensetracker.repository.CurrencyTotal(e.currency, sum(e.amountMinor)) "
+            + "from Expense e left join e.category c "
+            + "where e.user.id = :userId and (:categoryId is null or c.id = :categoryId) "
+            + "and e.expenseDate between :startDate and :endDate group by e.currency")
+    List<CurrencyTotal> sumForPeriodByCurrency(
+            @Param("userId") Long userId,
+            @Param("categoryId") Integer categoryId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
-    Expense findByIdAndUser(Long id, User user);
+    @Query("select new com.expensetracker.repository.CategoryTotal(e.category.id, e.currency, sum(e.amountMinor)) "
+            + "from Expense e where e.user.id = :userId group by e.category.id, e.currency")
+    List<CategoryTotal> sumByCategoryAndCurrency(@Param("userId") Long userId);
 }
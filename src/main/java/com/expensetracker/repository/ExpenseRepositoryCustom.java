@@ -0,0 +1,18 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ExpenseRepositoryCustom {
+
+    Page<ExpenseRow> findRows(ExpenseCriteria criteria, Pageable pageable);
+
+    /**
+     * Ids of the user's expenses whose description matches the query, best
+     * match first; a categoryId of 0 matches every category.
+     */
+    Page<Long> searchIds(Long userId, String query, int categoryId, LocalDate startDate, LocalDate endDate,
+            Pageable pageable);
+}
@@ -0,0 +1,209 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.expensetracker.model.Expense;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final String SEARCH_FILTER = """
+            FROM expenses e
+            WHERE e.user_id = :userId
+              AND e.description_tsv @@ websearch_to_tsquery('simple', :query)
+              AND (:categoryId = 0 OR e.category_id = :categoryId)
+              AND e.expense_date BETWEEN :startDate AND :endDate
+            """;
+
+    private static final String SEARCH = "SELECT e.id " + SEARCH_FILTER + """
+            ORDER BY ts_rank(e.description_tsv, websearch_to_tsquery('simple', :query)) DESC,
+                     e.expense_date DESC, e.id DESC
+            """;
+
+    private static final String SEARCH_COUNT = "SELECT count(*) " + SEARCH_FILTER;
+
+    private final EntityManager entityManager;
+    private volatile Boolean fullText;
+
+    public ExpenseRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ExpenseRow> findRows(ExpenseCriteria criteria, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ExpenseRow> query = cb.createQuery(ExpenseRow.class);
+        Root<Expense> expense = query.from(Expense.class);
+        query.select(cb.construct(ExpenseRow.class,
+                        expense.get("id"),
+                        expense.get("amountMinor"),
+                        expense.get("currency"),
+                        expense.get("category").get("id"),
+                        expense.get("description"),
+                        expense.get("expenseDate")))
+                .where(predicates(cb, expense, criteria))
+                .orderBy(orders(cb, expense, pageable));
+
+        TypedQuery<ExpenseRow> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(criteria));
+    }
+
+    /**
+     * PostgreSQL runs the full-text query over the indexed description_tsv.
+     * Other databases, i.e. H2 in the tests and the load test, have no text
+     * search; they get every term of the query as a case-insensitive
+     * substring of the description, "-term" excluded, newest first and
+     * unranked, so the endpoint still works there.
+     */
+    @Override
+    public Page<Long> searchIds(Long userId, String query, int categoryId, LocalDate startDate, LocalDate endDate,
+            Pageable pageable) {
+        if (fullText == null) {
+            fullText = "PostgreSQL".equals(entityManager.unwrap(Session.class).doReturningWork(connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        }
+
+        Query search;
+        Query count;
+        if (fullText) {
+            search = entityManager.createNativeQuery(SEARCH, Long.class).setParameter("query", query);
+            count = entityManager.createNativeQuery(SEARCH_COUNT, Long.class).setParameter("query", query);
+        } else {
+            List<String> included = new ArrayList<>();
+            List<String> excluded = new ArrayList<>();
+            for (String term : query.toLowerCase(Locale.ROOT).replace("\"", " ").split("\\s+")) {
+                if (term.startsWith("-") && term.length() > 1) {
+                    excluded.add(term.substring(1));
+                } else if (!term.isEmpty() && !term.equals("-")) {
+                    included.add(term);
+                }
+            }
+            String filter = termFilter(included, excluded);
+            search = entityManager.createNativeQuery(
+                    "SELECT e.id " + filter + " ORDER BY e.expense_date DESC, e.id DESC", Long.class);
+            count = entityManager.createNativeQuery("SELECT count(*) " + filter, Long.class);
+            bindTerms(search, included, excluded);
+            bindTerms(count, included, excluded);
+        }
+
+        for (Query bound : List.of(search, count)) {
+            bound.setParameter("userId", userId)
+                    .setParameter("categoryId", categoryId)
+                    .setParameter("startDate", startDate)
+                    .setParameter("endDate", endDate);
+        }
+        search.setFirstResult((int) pageable.getOffset());
+        search.setMaxResults(pageable.getPageSize());
+
+        @SuppressWarnings("unchecked")
+        List<Long> ids = search.getResultList();
+        return PageableExecutionUtils.getPage(ids, pageable, () -> ((Number) count.getSingleResult()).longValue());
+    }
+
+    private static String termFilter(List<String> included, List<String> excluded) {
+        StringBuilder filter = new StringBuilder("""
+                FROM expenses e
+                WHERE e.user_id = :userId
+                  AND (:categoryId = 0 OR e.category_id = :categoryId)
+                  AND e.expense_date BETWEEN :startDate AND :endDate
+                """);
+        for (int i = 0; i < included.size(); i++) {
+            filter.append("  AND LOWER(e.description) LIKE :included").append(i).append(" ESCAPE '\\'\n");
+        }
+        for (int i = 0; i < excluded.size(); i++) {
+            filter.append("  AND LOWER(COALESCE(e.description, '')) NOT LIKE :excluded").append(i)
+                    .append(" ESCAPE '\\'\n");
+        }
+        return filter.toString();
+    }
+
+    private static void bindTerms(Query query, List<String> included, List<String> excluded) {
+        for (int i = 0; i < included.size(); i++) {
+            query.setParameter("included" + i, "%" + escapeLike(included.get(i)) + "%");
+        }
+        for (int i = 0; i < excluded.size(); i++) {
+            query.setParameter("excluded" + i, "%" + escapeLike(excluded.get(i)) + "%");
+        }
+    }
+
+    private long count(ExpenseCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Expense> expense = query.from(Expense.class);
+        query.select(cb.count(expense)).where(predicates(cb, expense, criteria));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // user_id always leads, so every combination can start from one of the
+    // (user_id, ...) composite indexes.
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Expense> expense, ExpenseCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(expense.get("user").get("id"), criteria.userId()));
+
+        if (criteria.categoryIds() != null) {
+            if (criteria.categoryIds().size() == 1) {
+                predicates.add(cb.equal(expense.get("category").get("id"), criteria.categoryIds().get(0)));
+            } else {
+                predicates.add(expense.get("category").get("id").in(criteria.categoryIds()));
+            }
+        }
+        if (criteria.currency() != null) {
+            predicates.add(cb.equal(expense.get("currency"), criteria.currency()));
+        }
+        if (criteria.startDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(expense.<LocalDate>get("expenseDate"), criteria.startDate()));
+        }
+        if (criteria.endDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(expense.<LocalDate>get("expenseDate"), criteria.endDate()));
+        }
+        if (criteria.minAmountMinor() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(expense.<Long>get("amountMinor"), criteria.minAmountMinor()));
+        }
+        if (criteria.maxAmountMinor() != null) {
+            predicates.add(cb.lessThanOrEqualTo(expense.<Long>get("amountMinor"), criteria.maxAmountMinor()));
+        }
+        if (criteria.descriptionPrefix() != null) {
+            predicates.add(cb.like(
+                    cb.lower(expense.<String>get("description")),
+                    escapeLike(criteria.descriptionPrefix().toLowerCase(Locale.ROOT)) + "%",
+                    '\\'));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private List<Order> orders(CriteriaBuilder cb, Root<Expense> expense, Pageable pageable) {
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(pageable.getSort(), expense, cb));
+        if (pageable.getSort().getOrderFor("id") == null) {
+            orders.add(cb.desc(expense.get("id")));
+        }
+        return orders;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
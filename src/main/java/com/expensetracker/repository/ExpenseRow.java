@@ -0,0 +1,13 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+
+public record ExpenseRow(
+        Long id,
+        long amountMinor,
+        String currency,
+        Integer categoryId,
+        String description,
+        LocalDate expenseDate
+) {
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.expensetracker.model.ExpenseSketch;
+
+public interface ExpenseSketchRepository extends JpaRepository<ExpenseSketch, Long> {
+
+    @Query("select new com.expensetracker.repository.ExpenseSketchRow("
+            + "s.category.id, s.currency, s.expenseCount, s.amounts, s.descriptions) "
+            + "from ExpenseSketch s where s.user.id = :userId and s.periodStart between :from and :to")
+    List<ExpenseSketchRow> findRows(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
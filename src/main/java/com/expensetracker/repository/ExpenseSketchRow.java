@@ -0,0 +1,9 @@
+package com.expensetracker.repository;
+
+public record ExpenseSketchRow(
+        Integer categoryId,
+        String currency,
+        long expenseCount,
+        byte[] amounts,
+        byte[] descriptions) {
+}
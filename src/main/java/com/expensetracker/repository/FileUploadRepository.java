@@ -1,18 +1,50 @@
 package com.expensetracker.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.expensetracker.dto.FileUploadResponse;
 import com.expensetracker.model.Expense;
 import com.expensetracker.model.FileUpload;
 import com.expensetracker.model.User;
 
 public interface FileUploadRepository extends JpaRepository<FileUpload, Long> {
 
-    List<FileUpload> findByUser(User user);
-
     List<FileUpload> findByExpense(Expense expense);
 
     FileUpload findByIdAndUser(Long id, User user);
+
+    @Query("""
+            select new com.expensetracker.dto.FileUploadResponse(
+                    f.id, f.originalFilename, f.contentType, f.fileSize, e.id, f.uploadedAt)
+            from FileUpload f left join f.expense e
+            where f.user.id = :userId
+              and f.id < :cursor
+              and (:expenseId is null or e.id = :expenseId)
+              and (:from is null or f.uploadedAt >= :from)
+              and (:to is null or f.uploadedAt < :to)
+            order by f.id desc
+            """)
+    List<FileUploadResponse> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("cursor") Long cursor,
+            @Param("expenseId") Long expenseId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit
+    );
+
+    List<FileUpload> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<FileUpload> findByStoredFilenameIn(Collection<String> names);
+
+    @Query("select f.storedFilename from FileUpload f where f.storedFilename in :names")
+    Set<String> findExistingStoredFilenames(@Param("names") Collection<String> names);
 }
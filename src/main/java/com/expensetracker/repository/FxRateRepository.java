@@ -0,0 +1,24 @@
+package com.expensetracker.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.expensetracker.model.FxRate;
+
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+
+    // Of the given currencies, those an expense, budget, recurring template
+    // or home currency still needs a rate for.
+    @Query(value = """
+            SELECT currency FROM expenses WHERE currency IN (:currencies)
+            UNION SELECT currency FROM budgets WHERE currency IN (:currencies)
+            UNION SELECT currency FROM recurring_expenses WHERE currency IN (:currencies)
+            UNION SELECT home_currency FROM users WHERE home_currency IN (:currencies)
+            """,
+            nativeQuery = true)
+    List<String> findCurrenciesInUse(@Param("currencies") Collection<String> currencies);
+}
@@ -0,0 +1,68 @@
+package com.expensetracker.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts a row unless one with the same unique key exists, in the caller's
+ * transaction. A concurrent insert of the same key is waited for and then
+ * skipped, so losing the race neither fails the statement nor aborts the
+ * transaction, and no second connection is needed to contain it.
+ *
+ * <p>PostgreSQL gets {@code ON CONFLICT DO NOTHING}; other databases, i.e.
+ * H2 in the tests, get the equivalent standard {@code MERGE}. Both report
+ * one row when they inserted and none when the key was taken. Arguments
+ * are given in column order.
+ */
+public class InsertIfAbsent {
+
+    private final String table;
+    private final List<String> key;
+    private final List<String> columns;
+    private volatile String sql;
+    private volatile boolean merge;
+
+    public InsertIfAbsent(String table, List<String> key, List<String> columns) {
+        this.table = table;
+        this.key = key;
+        this.columns = columns;
+    }
+
+    public int execute(JdbcTemplate jdbc, Object... args) {
+        String statement = sql;
+        if (statement == null) {
+            String database = jdbc.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            merge = !"PostgreSQL".equals(database);
+            statement = merge ? merge() : onConflict();
+            sql = statement;
+        }
+        if (!merge) {
+            return jdbc.update(statement, args);
+        }
+        // the key is bound again for the match condition
+        return jdbc.update(statement, Stream.concat(
+                key.stream().map(column -> args[columns.indexOf(column)]),
+                Stream.of(args)).toArray());
+    }
+
+    private String onConflict() {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ") "
+                + "ON CONFLICT (" + String.join(", ", key) + ") DO NOTHING";
+    }
+
+    // Values are bound straight into the INSERT: as columns of a VALUES
+    // source they would be typed as text, which garbles binary arguments.
+    private String merge() {
+        return "MERGE INTO " + table + " t USING (VALUES (0)) s ON "
+                + key.stream().map(column -> "t." + column + " = ?").collect(Collectors.joining(" AND "))
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+}
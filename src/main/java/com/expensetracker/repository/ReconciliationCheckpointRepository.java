@@ -0,0 +1,8 @@
+package com.expensetracker.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.expensetracker.model.ReconciliationCheckpoint;
+
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, String> {
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.expensetracker.model.RecurringExpense;
+import com.expensetracker.model.User;
+
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+
+    RecurringExpense findByIdAndUser(Long id, User user);
+
+    List<RecurringExpense> findByUserIdOrderByIdAsc(Long userId);
+}
@@ -0,0 +1,10 @@
+package com.expensetracker.repository;
+
+import java.util.Optional;
+
+import com.expensetracker.model.User;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package com.expensetracker.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.model.User;
+
+import jakarta.persistence.EntityManager;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public UserRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // A natural-id load goes through the natural-id cache; a query on email
+    // would always reach the database.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -0,0 +1,303 @@
+package com.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.dto.ActiveUsersResponse;
+import com.expensetracker.dto.CategorySpendResponse;
+import com.expensetracker.dto.SpendDistributionResponse;
+import com.expensetracker.dto.TopSpenderResponse;
+import com.expensetracker.exception.AnalyticsUnavailableException;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.FxRates;
+import com.expensetracker.util.Money;
+import com.expensetracker.util.SpendDistribution;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Platform-wide analytics for admins. Each report splits the user id space
+ * into contiguous ranges, scans them in parallel on a small dedicated
+ * executor and merges the partial results. The executor size caps how many
+ * connections a dashboard can hold at once, and every report is bounded by
+ * a deadline: statements get a query timeout and partitions still running
+ * when it expires are cancelled.
+ */
+@Service
+public class AdminAnalyticsService {
+
+    private static final int MAX_TOP_SPENDERS = 100;
+
+    private static final String CATEGORY_SPEND = """
+            SELECT c.normalized_name, MIN(c.name), e.currency, SUM(e.amount_minor)
+            FROM expenses e JOIN categories c ON c.id = e.category_id
+            WHERE e.user_id BETWEEN ? AND ? AND e.expense_date BETWEEN ? AND ?
+            GROUP BY c.normalized_name, e.currency
+            """;
+
+    private static final String USER_SPEND = """
+            SELECT e.user_id, e.currency, SUM(e.amount_minor)
+            FROM expenses e
+            WHERE e.user_id BETWEEN ? AND ? AND e.expense_date BETWEEN ? AND ?
+            GROUP BY e.user_id, e.currency
+            """;
+
+    private static final String ACTIVE_USERS = """
+            SELECT COUNT(DISTINCT e.user_id)
+            FROM expenses e
+            WHERE e.user_id BETWEEN ? AND ? AND e.expense_date BETWEEN ? AND ?
+            """;
+
+    private static final String SPEND_DISTRIBUTION = """
+            SELECT c.normalized_name, c.name, s.currency, s.amounts, s.descriptions
+            FROM expense_sketches s JOIN categories c ON c.id = s.category_id
+            WHERE s.user_id BETWEEN ? AND ? AND s.period_start BETWEEN ? AND ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    // each partition scan is its own read-only transaction, so it can run on a replica
+    private final TransactionTemplate readOnly;
+    private final UserRepository userRepository;
+    private final FxRateService fxRateService;
+    private final ThreadPoolTaskExecutor executor;
+    private final int partitions;
+    private final Duration timeout;
+
+    public AdminAnalyticsService(
+            DataSource dataSource,
+            UserRepository userRepository,
+            FxRateService fxRateService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.admin-analytics.parallelism:4}") int parallelism,
+            @Value("${app.admin-analytics.partitions:16}") int partitions,
+            @Value("${app.admin-analytics.timeout:PT10S}") Duration timeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.userRepository = userRepository;
+        this.fxRateService = fxRateService;
+        this.partitions = partitions;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(parallelism);
+        this.executor.setMaxPoolSize(parallelism);
+        this.executor.setQueueCapacity(partitions * 4);
+        this.executor.setThreadNamePrefix("admin-analytics-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Cacheable(value = "adminAnalytics", key = "'categories:' + #startDate + ':' + #endDate")
+    public CategorySpendResponse getCategorySpend(LocalDate startDate, LocalDate endDate) {
+        FxRates rates = fxRateService.current();
+        String currency = rates.getBaseCurrency();
+
+        List<Map<String, CategoryPartial>> partials = scan(range -> {
+            Map<String, CategoryPartial> partial = new HashMap<>();
+            jdbcTemplate.query(CATEGORY_SPEND, rs -> {
+                long amount = rates.convert(rs.getLong(4), rs.getString(3), currency);
+                partial.merge(rs.getString(1), new CategoryPartial(rs.getString(2), amount), CategoryPartial::merge);
+            }, range.fromUserId(), range.toUserId(), startDate, endDate);
+            return partial;
+        });
+
+        Map<String, CategoryPartial> merged = new HashMap<>();
+        partials.forEach(partial -> partial.forEach((key, value) -> merged.merge(key, value, CategoryPartial::merge)));
+
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        merged.values().stream()
+                .sorted(Comparator.comparingLong(CategoryPartial::totalMinor).reversed())
+                .forEach(category -> totals.put(category.name(), Money.fromMinorUnits(category.totalMinor(), currency)));
+        return new CategorySpendResponse(startDate, endDate, currency, totals);
+    }
+
+    @Cacheable(value = "adminAnalytics", key = "'spenders:' + #startDate + ':' + #endDate + ':' + #limit")
+    public List<TopSpenderResponse> getTopSpenders(LocalDate startDate, LocalDate endDate, int limit) {
+        if (limit < 1 || limit > MAX_TOP_SPENDERS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_SPENDERS);
+        }
+        FxRates rates = fxRateService.current();
+        String currency = rates.getBaseCurrency();
+
+        // Ranges are disjoint by user, so each partition's own top N is
+        // enough to find the global top N.
+        List<List<UserTotal>> partials = scan(range -> {
+            Map<Long, Long> totals = new HashMap<>();
+            jdbcTemplate.query(USER_SPEND, rs -> {
+                totals.merge(rs.getLong(1), rates.convert(rs.getLong(3), rs.getString(2), currency), Math::addExact);
+            }, range.fromUserId(), range.toUserId(), startDate, endDate);
+            return topN(totals, limit);
+        });
+
+        List<UserTotal> top = partials.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingLong(UserTotal::totalMinor).reversed())
+                .limit(limit)
+                .toList();
+
+        Map<Long, User> users = new HashMap<>();
+        userRepository.findAllById(top.stream().map(UserTotal::userId).toList())
+                .forEach(user -> users.put(user.getId(), user));
+
+        return top.stream()
+                .map(total -> {
+                    User user = users.get(total.userId());
+                    return new TopSpenderResponse(
+                            total.userId(),
+                            user != null ? user.getName() : null,
+                            user != null ? user.getEmail() : null,
+                            Money.fromMinorUnits(total.totalMinor(), currency),
+                            currency);
+                })
+                .toList();
+    }
+
+    @Cacheable(value = "adminAnalytics", key = "'active:' + #startDate + ':' + #endDate")
+    public ActiveUsersResponse getActiveUsers(LocalDate startDate, LocalDate endDate) {
+        long active = scan(range -> jdbcTemplate.queryForObject(
+                ACTIVE_USERS, Long.class, range.fromUserId(), range.toUserId(), startDate, endDate))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        return new ActiveUsersResponse(startDate, endDate, active);
+    }
+
+    /**
+     * Amount percentiles and distinct descriptions per category across all
+     * users, merged from the monthly sketches in the FX base currency.
+     */
+    @Cacheable(value = "adminAnalytics", key = "'distribution:' + #from + ':' + #to")
+    public List<SpendDistributionResponse> getSpendDistribution(YearMonth from, YearMonth to) {
+        FxRates rates = fxRateService.current();
+        String currency = rates.getBaseCurrency();
+
+        List<Map<String, DistributionPartial>> partials = scan(range -> {
+            Map<String, DistributionPartial> partial = new HashMap<>();
+            jdbcTemplate.query(SPEND_DISTRIBUTION, rs -> {
+                SpendDistribution distribution = SpendDistribution.fromBytes(rs.getBytes(4), rs.getBytes(5))
+                        .scaled(rates.minorUnitFactor(rs.getString(3), currency));
+                partial.merge(rs.getString(1), new DistributionPartial(rs.getString(2), distribution),
+                        DistributionPartial::merge);
+            }, range.fromUserId(), range.toUserId(), from.atDay(1), to.atDay(1));
+            return partial;
+        });
+
+        Map<String, DistributionPartial> merged = new HashMap<>();
+        partials.forEach(partial -> partial.forEach((key, value) -> merged.merge(key, value, DistributionPartial::merge)));
+
+        return merged.values().stream()
+                .map(category -> SpendSketchService.toResponse(category.name(), currency, category.distribution()))
+                .sorted(Comparator.comparing(SpendDistributionResponse::getCategory))
+                .toList();
+    }
+
+    private <T> List<T> scan(Function<UserRange, T> query) {
+        List<Future<T>> futures = new ArrayList<>();
+        try {
+            for (UserRange range : readOnly.execute(status -> userRanges())) {
+                futures.add(executor.submit(() -> readOnly.execute(status -> query.apply(range))));
+            }
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException | CancellationException e) {
+            throw new AnalyticsUnavailableException("Analytics query timed out, try a shorter date range");
+        } catch (TaskRejectedException e) {
+            throw new AnalyticsUnavailableException("Too many analytics queries running, try again later");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalyticsUnavailableException("Analytics query was interrupted");
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private List<UserRange> userRanges() {
+        Long[] bounds = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM users",
+                (rs, rowNum) -> new Long[] {rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        if (bounds == null || bounds[0] == null) {
+            return List.of();
+        }
+
+        long min = bounds[0];
+        long span = bounds[1] - min + 1;
+        long step = Math.max(1, (span + partitions - 1) / partitions);
+        List<UserRange> ranges = new ArrayList<>(partitions);
+        for (long from = min; from <= bounds[1]; from += step) {
+            ranges.add(new UserRange(from, Math.min(bounds[1], from + step - 1)));
+        }
+        return ranges;
+    }
+
+    private static List<UserTotal> topN(Map<Long, Long> totals, int limit) {
+        PriorityQueue<UserTotal> heap = new PriorityQueue<>(Comparator.comparingLong(UserTotal::totalMinor));
+        totals.forEach((userId, total) -> {
+            heap.add(new UserTotal(userId, total));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        return new ArrayList<>(heap);
+    }
+
+    private record UserRange(long fromUserId, long toUserId) {
+    }
+
+    private record UserTotal(Long userId, long totalMinor) {
+    }
+
+    private record DistributionPartial(String name, SpendDistribution distribution) {
+
+        // merges in place; partials are only touched by one thread at a time
+        DistributionPartial merge(DistributionPartial other) {
+            distribution.merge(other.distribution);
+            return new DistributionPartial(name.compareTo(other.name) <= 0 ? name : other.name, distribution);
+        }
+    }
+
+    private record CategoryPartial(String name, long totalMinor) {
+
+        CategoryPartial merge(CategoryPartial other) {
+            String first = name.compareTo(other.name) <= 0 ? name : other.name;
+            return new CategoryPartial(first, Math.addExact(totalMinor, other.totalMinor));
+        }
+    }
+}
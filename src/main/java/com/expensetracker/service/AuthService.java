@@ -1,7 +1,12 @@
 package com.expensetracker.service;
 
+import java.util.Currency;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.expensetracker.dto.LoginRequest;
 import com.expensetracker.dto.RegisterRequest;
@@ -19,29 +24,40 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final String defaultCurrency;
 
     public AuthService(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtUtil jwtUtil,
-            EmailService emailService) {
+            EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.currency.default:USD}") String defaultCurrency) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultCurrency = defaultCurrency;
     }
 
     public void register(RegisterRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new EmailAlreadyExistsException("Email already registered");
-        }
-
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setRole(Role.USER);
+        user.setHomeCurrency(request.getHomeCurrency() != null
+                ? Currency.getInstance(request.getHomeCurrency()).getCurrencyCode()
+                : defaultCurrency);
 
-        userRepository.save(user);
+        // hashing and the welcome email stay outside the transaction, which holds a connection
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+                throw new EmailAlreadyExistsException("Email already registered");
+            }
+            userRepository.save(user);
+        });
 
         emailService.sendWelcomeEmail(user.getEmail(), user.getName());
     }
@@ -0,0 +1,41 @@
+package com.expensetracker.service;
+
+import java.time.YearMonth;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.Money;
+
+@Component
+public class BudgetAlertListener {
+
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final EmailService emailService;
+
+    public BudgetAlertListener(
+            UserRepository userRepository,
+            CategoryService categoryService,
+            EmailService emailService) {
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.emailService = emailService;
+    }
+
+    @Async("emailExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        userRepository.findById(event.userId()).ifPresent(user -> emailService.sendBudgetAlert(
+                user.getEmail(),
+                event.categoryId() != null ? categoryService.nameOf(event.categoryId()) : null,
+                YearMonth.from(event.periodStart()),
+                event.threshold(),
+                Money.fromMinorUnits(event.spentMinor(), event.currency()),
+                Money.fromMinorUnits(event.limitMinor(), event.currency()),
+                event.currency()));
+    }
+}
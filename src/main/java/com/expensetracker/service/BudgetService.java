@@ -0,0 +1,310 @@
+package com.expensetracker.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.dto.BudgetStatusResponse;
+import com.expensetracker.dto.CreateBudgetRequest;
+import com.expensetracker.exception.BudgetAlreadyExistsException;
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.BudgetUsage;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetStatusRow;
+import com.expensetracker.repository.BudgetUsageRepository;
+import com.expensetracker.repository.CurrencyTotal;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.InsertIfAbsent;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.FxRates;
+import com.expensetracker.util.Money;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Keeps one running total per budget and month. Expense writes apply their
+ * amount as a delta under a row lock, so checking a threshold costs a single
+ * row update instead of a SUM over the month. The highest threshold already
+ * reported is stored on the same row, which makes each alert fire once per
+ * period however many writes cross it concurrently.
+ */
+@Service
+public class BudgetService {
+
+    // the unique index of V20, one budget per user and category (or none)
+    private static final String SCOPE_CONSTRAINT = "uk_budgets_scope";
+
+    private static final String USER_BUDGETS =
+            "SELECT id, category_id, limit_minor, currency FROM budgets WHERE user_id = ?";
+
+    private static final String ADD_SPENT =
+            "UPDATE budget_usage SET spent_minor = spent_minor + ? WHERE budget_id = ? AND period_start = ?";
+
+    private static final InsertIfAbsent INSERT_USAGE = new InsertIfAbsent("budget_usage",
+            List.of("budget_id", "period_start"), List.of("budget_id", "period_start", "spent_minor", "alert_level"));
+
+    private static final String USAGE_LEVEL =
+            "SELECT id, spent_minor, alert_level FROM budget_usage WHERE budget_id = ? AND period_start = ?";
+
+    private static final String RAISE_ALERT = "UPDATE budget_usage SET alert_level = ? WHERE id = ?";
+
+    private static final String PERIOD_SPENT =
+            "SELECT currency, SUM(amount_minor) FROM expenses "
+                    + "WHERE user_id = ? AND expense_date BETWEEN ? AND ?";
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetUsageRepository usageRepository;
+    private final ExpenseRepository expenseRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final FxRateService fxRateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final int[] thresholds;
+
+    public BudgetService(
+            BudgetRepository budgetRepository,
+            BudgetUsageRepository usageRepository,
+            ExpenseRepository expenseRepository,
+            UserRepository userRepository,
+            CategoryService categoryService,
+            FxRateService fxRateService,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            DataSource dataSource,
+            @Value("${app.budget.alert-thresholds:80,100}") int[] thresholds) {
+        this.budgetRepository = budgetRepository;
+        this.usageRepository = usageRepository;
+        this.expenseRepository = expenseRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.fxRateService = fxRateService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.thresholds = Arrays.stream(thresholds).sorted().toArray();
+    }
+
+    private Long getCurrentUserId() {
+        return Long.valueOf(
+                SecurityContextHolder.getContext()
+                        .getAuthentication()
+                        .getPrincipal()
+                        .toString());
+    }
+
+    @Transactional
+    public BudgetStatusResponse createBudget(CreateBudgetRequest request) {
+        Long userId = getCurrentUserId();
+        User user = userRepository.findById(userId).orElseThrow();
+
+        Integer categoryId = request.getCategory() != null
+                ? categoryService.resolveId(userId, request.getCategory())
+                : null;
+        String exists = categoryId != null
+                ? "A budget already exists for category: " + request.getCategory()
+                : "A budget already exists for all categories";
+        if (budgetRepository.existsForScope(userId, categoryId)) {
+            throw new BudgetAlreadyExistsException(exists);
+        }
+
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setCategory(categoryId != null ? categoryService.reference(userId, request.getCategory()) : null);
+        budget.setLimitMinor(Money.toMinorUnits(
+                request.getMonthlyLimit(), Currency.getInstance(user.getHomeCurrency())));
+        budget.setCurrency(user.getHomeCurrency());
+        Budget saved;
+        try {
+            saved = budgetRepository.save(budget);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request created the same scope after the check
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(SCOPE_CONSTRAINT)) {
+                throw new BudgetAlreadyExistsException(exists);
+            }
+            throw e;
+        }
+
+        LocalDate period = currentPeriod();
+        BudgetUsage usage = new BudgetUsage(
+                saved, period, spentInPeriod(userId, categoryId, period, saved.getCurrency()));
+        usage.setAlertLevel(levelFor(usage.getSpentMinor(), saved.getLimitMinor()));
+        usageRepository.save(usage);
+
+        return toResponse(new BudgetStatusRow(
+                saved.getId(), categoryId, saved.getLimitMinor(), saved.getCurrency(),
+                usage.getSpentMinor(), usage.getAlertLevel()), period);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatusResponse> getStatus() {
+        LocalDate period = currentPeriod();
+        return budgetRepository.findStatus(getCurrentUserId(), period)
+                .stream()
+                .map(row -> toResponse(row, period))
+                .toList();
+    }
+
+    @Transactional
+    public void deleteBudget(Long id) {
+        User user = userRepository.getReferenceById(getCurrentUserId());
+        Budget budget = budgetRepository.findByIdAndUser(id, user);
+
+        if (budget == null) {
+            throw new ResourceNotFoundException("Budget not found with id: " + id);
+        }
+
+        usageRepository.deleteByBudgetId(budget.getId());
+        budgetRepository.delete(budget);
+    }
+
+    /**
+     * Applies expense amount changes to every budget covering them. Must run
+     * in the transaction that writes the expenses so the totals commit or
+     * roll back with it; an update passes the old amount negated and the new
+     * one, so both land in a single row update. Amounts in another currency
+     * are converted at the current rate, so running totals of mixed-currency
+     * budgets are approximate until the next month reseeds them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSpend(List<SpendDelta> deltas) {
+        // a month's first usage row is seeded from a SUM that must see these writes
+        entityManager.flush();
+        recordSpend(jdbcTemplate, deltas);
+    }
+
+    /**
+     * Counterpart of {@link #recordSpend(List)} for writers that insert
+     * expenses over plain JDBC, running on the caller's JDBC transaction.
+     * A month that has no usage row yet is seeded from a SUM that already
+     * sees the caller's uncommitted writes, so their deltas are not added
+     * on top.
+     */
+    public void recordSpend(JdbcTemplate jdbc, List<SpendDelta> deltas) {
+        FxRates rates = fxRateService.current();
+        Map<Long, List<SpendDelta>> byUser = deltas.stream()
+                .collect(Collectors.groupingBy(SpendDelta::userId));
+
+        byUser.forEach((userId, userDeltas) -> {
+            List<BudgetRow> budgets = jdbc.query(USER_BUDGETS, (rs, rowNum) -> new BudgetRow(
+                    rs.getLong(1), rs.getObject(2, Integer.class), rs.getLong(3), rs.getString(4)), userId);
+
+            for (BudgetRow budget : budgets) {
+                Map<LocalDate, Long> byPeriod = new TreeMap<>();
+                for (SpendDelta delta : userDeltas) {
+                    if (budget.categoryId() == null || budget.categoryId().equals(delta.categoryId())) {
+                        byPeriod.merge(delta.periodStart(),
+                                rates.convert(delta.amountMinor(), delta.currency(), budget.currency()),
+                                Math::addExact);
+                    }
+                }
+                byPeriod.forEach((period, amount) -> applyBatchSpend(jdbc, userId, budget, period, amount));
+            }
+        });
+    }
+
+    private void applyBatchSpend(JdbcTemplate jdbc, Long userId, BudgetRow budget, LocalDate period, long amount) {
+        if (jdbc.update(ADD_SPENT, amount, budget.id(), period) == 0
+                && INSERT_USAGE.execute(jdbc, budget.id(), period,
+                        spentInPeriod(jdbc, userId, budget.categoryId(), period, budget.currency()), 0) == 0) {
+            // created by a concurrent writer, whose seed could not see ours
+            jdbc.update(ADD_SPENT, amount, budget.id(), period);
+        }
+
+        // the UPDATE or INSERT above holds the row lock until commit
+        jdbc.query(USAGE_LEVEL, rs -> {
+            long spent = rs.getLong(2);
+            int level = levelFor(spent, budget.limitMinor());
+            if (level > rs.getInt(3)) {
+                jdbc.update(RAISE_ALERT, level, rs.getLong(1));
+                eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(
+                        userId, budget.id(), budget.categoryId(), period,
+                        level, spent, budget.limitMinor(), budget.currency()));
+            }
+        }, budget.id(), period);
+    }
+
+    private long spentInPeriod(Long userId, Integer categoryId, LocalDate period, String currency) {
+        return convertTotals(expenseRepository.sumForPeriodByCurrency(
+                userId, categoryId, period, period.plusMonths(1).minusDays(1)), currency);
+    }
+
+    private long spentInPeriod(JdbcTemplate jdbc, Long userId, Integer categoryId, LocalDate period, String currency) {
+        LocalDate end = period.plusMonths(1).minusDays(1);
+        RowMapper<CurrencyTotal> mapper = (rs, rowNum) -> new CurrencyTotal(rs.getString(1), rs.getLong(2));
+        List<CurrencyTotal> totals = categoryId == null
+                ? jdbc.query(PERIOD_SPENT + " GROUP BY currency", mapper, userId, period, end)
+                : jdbc.query(PERIOD_SPENT + " AND category_id = ? GROUP BY currency", mapper,
+                        userId, period, end, categoryId);
+        return convertTotals(totals, currency);
+    }
+
+    private long convertTotals(List<CurrencyTotal> totals, String currency) {
+        FxRates rates = fxRateService.current();
+        long total = 0;
+        for (CurrencyTotal row : totals) {
+            total = Math.addExact(total, rates.convert(row.totalMinor(), row.currency(), currency));
+        }
+        return total;
+    }
+
+    private int levelFor(long spentMinor, long limitMinor) {
+        int level = 0;
+        for (int threshold : thresholds) {
+            if (spentMinor * 100 >= limitMinor * threshold) {
+                level = threshold;
+            }
+        }
+        return level;
+    }
+
+    private LocalDate currentPeriod() {
+        return LocalDate.now().withDayOfMonth(1);
+    }
+
+    public record SpendDelta(
+            Long userId,
+            Integer categoryId,
+            LocalDate periodStart,
+            String currency,
+            long amountMinor) {
+    }
+
+    private record BudgetRow(long id, Integer categoryId, long limitMinor, String currency) {
+    }
+
+    private BudgetStatusResponse toResponse(BudgetStatusRow row, LocalDate period) {
+        return new BudgetStatusResponse(
+                row.budgetId(),
+                row.categoryId() != null ? categoryService.nameOf(row.categoryId()) : null,
+                row.currency(),
+                period,
+                Money.fromMinorUnits(row.limitMinor(), row.currency()),
+                Money.fromMinorUnits(row.spentMinor(), row.currency()),
+                Money.fromMinorUnits(row.limitMinor() - row.spentMinor(), row.currency()),
+                row.alertLevel());
+    }
+}
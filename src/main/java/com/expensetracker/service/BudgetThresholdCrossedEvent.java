@@ -0,0 +1,20 @@
+package com.expensetracker.service;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside the expense write transaction when a budget's running
+ * total first reaches an alert threshold for a period. Listeners act on it
+ * only after commit, so a rolled-back write never sends an alert.
+ */
+public record BudgetThresholdCrossedEvent(
+        Long userId,
+        Long budgetId,
+        Integer categoryId,
+        LocalDate periodStart,
+        int threshold,
+        long spentMinor,
+        long limitMinor,
+        String currency
+) {
+}
@@ -0,0 +1,132 @@
+package com.expensetracker.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.InsertIfAbsent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Service
+public class CategoryService implements MeterBinder {
+
+    private static final InsertIfAbsent INSERT_CATEGORY = new InsertIfAbsent(
+            "categories", List.of("user_id", "normalized_name"), List.of("user_id", "name", "normalized_name"));
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<CategoryKey, Integer> ids;
+    private final Cache<Integer, String> names;
+
+    public CategoryService(
+            CategoryRepository categoryRepository,
+            DataSource dataSource,
+            @Value("${app.category.cache-size:10000}") long cacheSize) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ids = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
+        this.names = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, ids, "categoryIds");
+        CaffeineCacheMetrics.monitor(registry, names, "categoryNames");
+    }
+
+    public static String normalize(String name) {
+        String trimmed = name == null ? "" : name.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("Category must not be blank");
+        }
+        return trimmed;
+    }
+
+    public Integer resolveId(Long userId, String name) {
+        String displayName = normalize(name);
+        CategoryKey key = new CategoryKey(userId, displayName.toLowerCase(Locale.ROOT));
+
+        Integer id = ids.getIfPresent(key);
+        if (id != null) {
+            return id;
+        }
+
+        Optional<Category> existing = categoryRepository.findByUserIdAndNormalizedName(userId, key.normalizedName());
+        if (existing.isPresent()) {
+            remember(key, existing.get());
+            return existing.get().getId();
+        }
+        return create(key, displayName).getId();
+    }
+
+    public Optional<Integer> findId(Long userId, String name) {
+        String displayName = normalize(name);
+        CategoryKey key = new CategoryKey(userId, displayName.toLowerCase(Locale.ROOT));
+
+        Integer id = ids.getIfPresent(key);
+        if (id != null) {
+            return Optional.of(id);
+        }
+
+        return categoryRepository.findByUserIdAndNormalizedName(userId, key.normalizedName())
+                .map(category -> {
+                    remember(key, category);
+                    return category.getId();
+                });
+    }
+
+    public Category reference(Long userId, String name) {
+        return categoryRepository.getReferenceById(resolveId(userId, name));
+    }
+
+    public String nameOf(Integer id) {
+        return names.get(id, key -> categoryRepository.findById(key)
+                .map(Category::getName)
+                .orElseThrow());
+    }
+
+    // Inserted on the caller's connection and transaction; a concurrent
+    // request creating the same name is waited for and its row is used. A
+    // row of our own is only cached once the caller commits, so a rollback
+    // cannot leave an id behind that no longer exists.
+    private Category create(CategoryKey key, String displayName) {
+        int inserted = INSERT_CATEGORY.execute(jdbcTemplate, key.userId(), displayName, key.normalizedName());
+        Category category = categoryRepository
+                .findByUserIdAndNormalizedName(key.userId(), key.normalizedName())
+                .orElseThrow();
+        if (inserted == 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(key, category);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(key, category);
+                }
+            });
+        }
+        return category;
+    }
+
+    private void remember(CategoryKey key, Category category) {
+        ids.put(key, category.getId());
+        names.put(category.getId(), category.getName());
+    }
+
+    private record CategoryKey(Long userId, String normalizedName) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps {@code users.data_version}, which every write to a user's expenses
+ * increments in the same transaction as the write. Stored with the data, the version is
+ * the same on every instance and survives restarts, so an ETag built from
+ * it only matches while the data it was issued for is unchanged.
+ *
+ * <p>The column is read and written over plain JDBC and is not mapped on
+ * {@link com.expensetracker.model.User}: the user's second-level cache
+ * entry is per instance, and would go stale on every other one.
+ */
+@Service
+public class DataVersionService {
+
+    private static final String INCREMENT = "UPDATE users SET data_version = data_version + 1 WHERE id = ?";
+
+    private static final String VERSION = "SELECT data_version FROM users WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataVersionService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Reads the version on the caller's transaction, so it comes from the
+     * same database, primary or replica, as the data read after it.
+     */
+    public Optional<Long> version(Long userId) {
+        return jdbcTemplate.queryForList(VERSION, Long.class, userId).stream().findFirst();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(Long userId) {
+        jdbcTemplate.update(INCREMENT, userId);
+    }
+
+    /**
+     * Batch counterpart of {@link #increment(Long)} for writers running on
+     * their own JDBC transaction. Rows are locked in id order so concurrent
+     * batches cannot deadlock on them.
+     */
+    public void increment(JdbcTemplate jdbc, Collection<Long> userIds) {
+        jdbc.batchUpdate(INCREMENT, userIds.stream()
+                .distinct()
+                .sorted()
+                .map(userId -> new Object[] {userId})
+                .toList());
+    }
+}
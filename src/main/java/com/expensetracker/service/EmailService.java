@@ -1,5 +1,10 @@
 package com.expensetracker.service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,7 +12,12 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import com.expensetracker.util.SpendingStats.Anomaly;
+
+import io.micrometer.observation.annotation.Observed;
+
 @Service
+@Observed(name = "app.service")
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
@@ -22,15 +32,57 @@ public class EmailService {
         this.emailEnabled = emailEnabled;
     }
 
-    public void sendExpenseNotification(String toEmail, Double amount) {
-        String subject = "Expense Recorded - $" + String.format("%.2f", amount);
+    public void sendExpenseNotification(String toEmail, BigDecimal amount, String currency) {
+        String subject = "Expense Recorded - " + amount.toPlainString() + " " + currency;
+        String body = String.format(
+                "Hello,\n\n" +
+                        "A new expense of %s %s has been recorded in your Expense Tracker account.\n\n" +
+                        "If you did not make this entry, please contact support immediately.\n\n" +
+                        "Best regards,\n" +
+                        "Expense Tracker Team",
+                amount.toPlainString(), currency);
+
+        sendEmail(toEmail, subject, body);
+    }
+
+    public void sendBudgetAlert(
+            String toEmail,
+            String category,
+            YearMonth period,
+            int threshold,
+            BigDecimal spent,
+            BigDecimal limit,
+            String currency) {
+        String budgetName = category != null ? "\"" + category + "\" budget" : "monthly budget";
+        String subject = "Budget Alert - " + threshold + "% of your " + budgetName + " used";
+        String body = String.format(
+                "Hello,\n\n" +
+                        "You have spent %s %s of your %s %s %s for %s (%d%%).\n\n" +
+                        "Best regards,\n" +
+                        "Expense Tracker Team",
+                spent.toPlainString(), currency, limit.toPlainString(), currency, budgetName, period, threshold);
+
+        sendEmail(toEmail, subject, body);
+    }
+
+    public void sendAnomalyAlert(
+            String toEmail,
+            String category,
+            LocalDate expenseDate,
+            BigDecimal amount,
+            String currency,
+            Set<Anomaly> anomalies) {
+        String reason = anomalies.contains(Anomaly.AMOUNT_OUTLIER)
+                ? "is much larger than your usual " + category + " expenses"
+                : "is one of an unusual number of " + category + " expenses in a short time";
+        String subject = "Unusual Expense - " + amount.toPlainString() + " " + currency;
         String body = String.format(
                 "Hello,\n\n" +
-                        "A new expense of $%.2f has been recorded in your Expense Tracker account.\n\n" +
+                        "An expense of %s %s on %s %s.\n\n" +
                         "If you did not make this entry, please contact support immediately.\n\n" +
                         "Best regards,\n" +
                         "Expense Tracker Team",
-                amount);
+                amount.toPlainString(), currency, expenseDate, reason);
 
         sendEmail(toEmail, subject, body);
     }
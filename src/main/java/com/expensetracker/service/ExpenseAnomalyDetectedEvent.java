@@ -0,0 +1,16 @@
+package com.expensetracker.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import com.expensetracker.util.SpendingStats.Anomaly;
+
+public record ExpenseAnomalyDetectedEvent(
+        Long userId,
+        Long expenseId,
+        Integer categoryId,
+        LocalDate expenseDate,
+        long amountMinor,
+        String currency,
+        Set<Anomaly> anomalies) {
+}
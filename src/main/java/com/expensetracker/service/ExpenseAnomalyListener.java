@@ -0,0 +1,40 @@
+package com.expensetracker.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.Money;
+
+@Component
+@ConditionalOnProperty(name = "app.anomaly.email.enabled", havingValue = "true")
+public class ExpenseAnomalyListener {
+
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final EmailService emailService;
+
+    public ExpenseAnomalyListener(
+            UserRepository userRepository,
+            CategoryService categoryService,
+            EmailService emailService) {
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.emailService = emailService;
+    }
+
+    @Async("emailExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAnomalyDetected(ExpenseAnomalyDetectedEvent event) {
+        userRepository.findById(event.userId()).ifPresent(user -> emailService.sendAnomalyAlert(
+                user.getEmail(),
+                categoryService.nameOf(event.categoryId()),
+                event.expenseDate(),
+                Money.fromMinorUnits(event.amountMinor(), event.currency()),
+                event.currency(),
+                event.anomalies()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.expensetracker.service;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.util.SpendingStats;
+import com.expensetracker.util.SpendingStats.Anomaly;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Flags unusual expenses from running per user and category statistics held
+ * in memory, so a check is a map lookup and a few arithmetic operations
+ * rather than a query over history. Statistics are per instance and rebuild
+ * themselves after a restart; nothing is flagged until a category has seen
+ * {@code min-samples} expenses.
+ */
+@Service
+public class ExpenseAnomalyService implements MeterBinder {
+
+    private final Cache<StatsKey, SpendingStats> stats;
+    private final SpendingStats.Settings settings;
+    private final boolean enabled;
+
+    public ExpenseAnomalyService(
+            @Value("${app.anomaly.enabled:true}") boolean enabled,
+            @Value("${app.anomaly.cache-size:100000}") long cacheSize,
+            @Value("${app.anomaly.idle-expiry:P90D}") Duration idleExpiry,
+            @Value("${app.anomaly.alpha:0.1}") double alpha,
+            @Value("${app.anomaly.amount-threshold:3.0}") double amountThreshold,
+            @Value("${app.anomaly.min-std-dev:0.25}") double minStdDev,
+            @Value("${app.anomaly.min-samples:10}") int minSamples,
+            @Value("${app.anomaly.spike-factor:4.0}") double spikeFactor,
+            @Value("${app.anomaly.spike-min-events:3}") double spikeMinEvents) {
+        this.enabled = enabled;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        this.settings = new SpendingStats.Settings(
+                alpha, amountThreshold, minStdDev, minSamples, spikeFactor, spikeMinEvents);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, stats, "anomalyStats");
+    }
+
+    /**
+     * Checks a new expense, with its amount in the user's home currency, and
+     * adds it to the running statistics.
+     */
+    public Set<Anomaly> check(Long userId, Integer categoryId, long amountMinor) {
+        if (!enabled) {
+            return Set.of();
+        }
+        SpendingStats categoryStats = stats.get(new StatsKey(userId, categoryId), key -> new SpendingStats());
+        synchronized (categoryStats) {
+            return categoryStats.observe(amountMinor, System.currentTimeMillis(), settings);
+        }
+    }
+
+    private record StatsKey(Long userId, Integer categoryId) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.ExpenseResponse;
+
+/**
+ * Published after an expense write. {@code expense} is null for deletes and
+ * for {@link Type#GENERATED}, which reports expenses inserted in bulk without
+ * individual ids.
+ */
+public record ExpenseChangedEvent(Long userId, Type type, Long expenseId, ExpenseResponse expense) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        GENERATED
+    }
+}
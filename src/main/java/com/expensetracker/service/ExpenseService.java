@@ -1,70 +1,169 @@
 package com.expensetracker.service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expensetracker.dto.CreateExpenseRequest;
+import com.expensetracker.dto.ExpenseFilter;
 import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.dto.ExpenseTotalsResponse;
 import com.expensetracker.dto.UpdateExpenseRequest;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.model.Expense;
 import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryTotal;
+import com.expensetracker.repository.CurrencyTotal;
+import com.expensetracker.repository.ExpenseCriteria;
 import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseRow;
 import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.CategoryTotals;
+import com.expensetracker.util.FxRates;
+import com.expensetracker.util.Money;
+import com.expensetracker.util.SpendingStats.Anomaly;
+
+import io.micrometer.observation.annotation.Observed;
 
 @Service
+@Observed(name = "app.service")
 public class ExpenseService {
 
+    private static final LocalDate SEARCH_MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate SEARCH_MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    // the sort comes from the client, so only plain expense columns are accepted
+    private static final Set<String> SORTABLE = Set.of("expenseDate", "amountMinor", "id");
+
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final CategoryService categoryService;
+    private final BudgetService budgetService;
+    private final FxRateService fxRateService;
+    private final SpendSketchService spendSketchService;
+    private final ExpenseAnomalyService anomalyService;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Currency defaultCurrency;
 
     public ExpenseService(
             ExpenseRepository expenseRepository,
             UserRepository userRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            CategoryService categoryService,
+            BudgetService budgetService,
+            FxRateService fxRateService,
+            SpendSketchService spendSketchService,
+            ExpenseAnomalyService anomalyService,
+            DataVersionService dataVersionService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.currency.default:USD}") String defaultCurrency) {
         this.expenseRepository = expenseRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
+        this.categoryService = categoryService;
+        this.budgetService = budgetService;
+        this.fxRateService = fxRateService;
+        this.spendSketchService = spendSketchService;
+        this.anomalyService = anomalyService;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.defaultCurrency = Currency.getInstance(defaultCurrency);
     }
 
-    private User getCurrentUser() {
-        Long userId = Long.valueOf(
+    // public and static for the cache key of getExpenseById
+    public static Long getCurrentUserId() {
+        return Long.valueOf(
                 SecurityContextHolder.getContext()
                         .getAuthentication()
                         .getPrincipal()
                         .toString());
+    }
 
-        return userRepository.findById(userId).orElseThrow();
+    private User getCurrentUser() {
+        return userRepository.findById(getCurrentUserId()).orElseThrow();
     }
 
     @CacheEvict(value = "expenses", allEntries = true)
+    @Transactional
     public ExpenseResponse createExpense(CreateExpenseRequest request) {
         User user = getCurrentUser();
+        Currency currency = request.getCurrency() != null
+                ? Currency.getInstance(request.getCurrency())
+                : defaultCurrency;
+        FxRates rates = fxRateService.current();
+        if (!rates.supports(currency.getCurrencyCode())) {
+            throw new IllegalArgumentException("No exchange rate for currency: " + currency.getCurrencyCode());
+        }
 
         Expense expense = new Expense();
-        expense.setAmount(request.getAmount());
-        expense.setCategory(request.getCategory());
+        expense.setAmountMinor(Money.toMinorUnits(request.getAmount(), currency));
+        expense.setCurrency(currency.getCurrencyCode());
+        expense.setCategory(categoryService.reference(user.getId(), request.getCategory()));
         expense.setDescription(request.getDescription());
         expense.setExpenseDate(request.getExpenseDate());
         expense.setUser(user);
 
         Expense saved = expenseRepository.save(expense);
+        budgetService.recordSpend(List.of(new BudgetService.SpendDelta(
+                user.getId(), saved.getCategory().getId(), saved.getExpenseDate().withDayOfMonth(1),
+                saved.getCurrency(), saved.getAmountMinor())));
+        spendSketchService.recordChanges(List.of(), List.of(new SpendSketchService.SketchEntry(
+                user.getId(), saved.getCategory().getId(), saved.getExpenseDate(),
+                saved.getCurrency(), saved.getAmountMinor(), saved.getDescription())));
+
+        Set<Anomaly> anomalies = anomalyService.check(
+                user.getId(), saved.getCategory().getId(),
+                rates.convert(saved.getAmountMinor(), saved.getCurrency(), user.getHomeCurrency()));
+        if (!anomalies.isEmpty()) {
+            eventPublisher.publishEvent(new ExpenseAnomalyDetectedEvent(
+                    user.getId(), saved.getId(), saved.getCategory().getId(), saved.getExpenseDate(),
+                    saved.getAmountMinor(), saved.getCurrency(), anomalies));
+        }
 
-        emailService.sendExpenseNotification(user.getEmail(), saved.getAmount());
-
-        return toResponse(saved);
+        emailService.sendExpenseNotification(
+                user.getEmail(),
+                Money.fromMinorUnits(saved.getAmountMinor(), saved.getCurrency()),
+                saved.getCurrency());
+
+        ExpenseResponse response = new ExpenseResponse(
+                saved.getId(),
+                Money.fromMinorUnits(saved.getAmountMinor(), saved.getCurrency()),
+                saved.getCurrency(),
+                categoryService.nameOf(saved.getCategory().getId()),
+                saved.getDescription(),
+                saved.getExpenseDate(),
+                anomalies.stream().map(Anomaly::name).toList());
+        dataVersionService.increment(user.getId());
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                user.getId(), ExpenseChangedEvent.Type.CREATED, saved.getId(), response));
+        return response;
     }
 
     @CacheEvict(value = "expenses", allEntries = true)
+    @Transactional
     public ExpenseResponse updateExpense(Long id, UpdateExpenseRequest request) {
         User user = getCurrentUser();
         Expense expense = expenseRepository.findByIdAndUser(id, user);
@@ -73,11 +172,17 @@ public class ExpenseService {
             throw new ResourceNotFoundException("Expense not found with id: " + id);
         }
 
+        Integer oldCategoryId = expense.getCategory().getId();
+        LocalDate oldDate = expense.getExpenseDate();
+        long oldAmountMinor = expense.getAmountMinor();
+        String oldDescription = expense.getDescription();
+
         if (request.getAmount() != null) {
-            expense.setAmount(request.getAmount());
+            expense.setAmountMinor(Money.toMinorUnits(
+                    request.getAmount(), Currency.getInstance(expense.getCurrency())));
         }
         if (request.getCategory() != null) {
-            expense.setCategory(request.getCategory());
+            expense.setCategory(categoryService.reference(user.getId(), request.getCategory()));
         }
         if (request.getDescription() != null) {
             expense.setDescription(request.getDescription());
@@ -87,52 +192,147 @@ public class ExpenseService {
         }
 
         Expense updated = expenseRepository.save(expense);
-        return toResponse(updated);
+
+        if (!oldCategoryId.equals(updated.getCategory().getId())
+                || !oldDate.equals(updated.getExpenseDate())
+                || oldAmountMinor != updated.getAmountMinor()) {
+            budgetService.recordSpend(List.of(
+                    new BudgetService.SpendDelta(
+                            user.getId(), oldCategoryId, oldDate.withDayOfMonth(1),
+                            updated.getCurrency(), -oldAmountMinor),
+                    new BudgetService.SpendDelta(
+                            user.getId(), updated.getCategory().getId(), updated.getExpenseDate().withDayOfMonth(1),
+                            updated.getCurrency(), updated.getAmountMinor())));
+        }
+        if (!oldCategoryId.equals(updated.getCategory().getId())
+                || !oldDate.equals(updated.getExpenseDate())
+                || oldAmountMinor != updated.getAmountMinor()
+                || !Objects.equals(oldDescription, updated.getDescription())) {
+            spendSketchService.recordChanges(
+                    List.of(new SpendSketchService.SketchEntry(
+                            user.getId(), oldCategoryId, oldDate,
+                            updated.getCurrency(), oldAmountMinor, oldDescription)),
+                    List.of(new SpendSketchService.SketchEntry(
+                            user.getId(), updated.getCategory().getId(), updated.getExpenseDate(),
+                            updated.getCurrency(), updated.getAmountMinor(), updated.getDescription())));
+        }
+
+        ExpenseResponse response = toResponse(updated);
+        dataVersionService.increment(user.getId());
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                user.getId(), ExpenseChangedEvent.Type.UPDATED, updated.getId(), response));
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ExpenseResponse> getExpenses(ExpenseFilter filter, Pageable pageable) {
+        Long userId = getCurrentUserId();
+
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort expenses by " + order.getProperty()
+                        + ", use expenseDate, amountMinor or id");
+            }
+        }
+
+        List<Integer> categoryIds = null;
+        if (filter.getCategory() != null && !filter.getCategory().isEmpty()) {
+            categoryIds = filter.getCategory().stream()
+                    .map(name -> categoryService.findId(userId, name))
+                    .flatMap(Optional::stream)
+                    .distinct()
+                    .toList();
+            if (categoryIds.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        if (filter.getStartDate() != null && filter.getEndDate() != null
+                && filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        String descriptionPrefix = filter.getDescriptionPrefix() == null || filter.getDescriptionPrefix().isBlank()
+                ? null
+                : filter.getDescriptionPrefix().trim();
+
+        // Amounts are only comparable within one currency, so amount bounds
+        // also restrict the results to the currency they are expressed in.
+        Currency currency = filter.getCurrency() != null
+                ? Currency.getInstance(filter.getCurrency())
+                : defaultCurrency;
+        boolean amountBounded = filter.getMinAmount() != null || filter.getMaxAmount() != null;
+
+        ExpenseCriteria criteria = new ExpenseCriteria(
+                userId,
+                categoryIds,
+                filter.getMinAmount() != null ? Money.toMinorUnits(filter.getMinAmount(), currency) : null,
+                filter.getMaxAmount() != null ? Money.toMinorUnits(filter.getMaxAmount(), currency) : null,
+                filter.getStartDate(),
+                filter.getEndDate(),
+                descriptionPrefix,
+                filter.getCurrency() != null || amountBounded ? currency.getCurrencyCode() : null);
+
+        return expenseRepository.findRows(criteria, pageable).map(this::toResponse);
     }
 
-    public Page<ExpenseResponse> getExpenses(
+    @Transactional(readOnly = true)
+    public Page<ExpenseResponse> searchExpenses(
+            String query,
             String category,
             LocalDate startDate,
             LocalDate endDate,
             Pageable pageable) {
-        User user = getCurrentUser();
-
-        if (category != null && startDate != null && endDate != null) {
-            return expenseRepository
-                    .findByUserAndCategoryAndExpenseDateBetween(
-                            user, category, startDate, endDate, pageable)
-                    .map(this::toResponse);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
         }
+        Long userId = getCurrentUserId();
 
+        int categoryId = 0;
         if (category != null) {
-            return expenseRepository
-                    .findByUserAndCategory(user, category, pageable)
-                    .map(this::toResponse);
+            Optional<Integer> id = categoryService.findId(userId, category);
+            if (id.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            categoryId = id.get();
         }
 
-        if (startDate != null && endDate != null) {
-            return expenseRepository
-                    .findByUserAndExpenseDateBetween(
-                            user, startDate, endDate, pageable)
-                    .map(this::toResponse);
-        }
+        Page<Long> ids = expenseRepository.searchIds(
+                userId,
+                query,
+                categoryId,
+                startDate != null ? startDate : SEARCH_MIN_DATE,
+                endDate != null ? endDate : SEARCH_MAX_DATE,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
 
-        return expenseRepository.findByUser(user, pageable).map(this::toResponse);
+        Map<Long, ExpenseRow> rows = expenseRepository.findRowsByIdIn(ids.getContent())
+                .stream()
+                .collect(Collectors.toMap(ExpenseRow::id, Function.identity()));
+
+        // an expense deleted between the two reads is dropped from the page
+        List<ExpenseResponse> content = ids.getContent().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
 
-    @Cacheable(value = "expenses", key = "#id")
+    @Cacheable(value = "expenses",
+            key = "T(com.expensetracker.service.ExpenseService).getCurrentUserId() + ':' + #id")
+    @Transactional(readOnly = true)
     public ExpenseResponse getExpenseById(Long id) {
-        User user = getCurrentUser();
-        Expense expense = expenseRepository.findByIdAndUser(id, user);
-
-        if (expense == null) {
-            throw new ResourceNotFoundException("Expense not found with id: " + id);
-        }
-
-        return toResponse(expense);
+        return expenseRepository.findRowByIdAndUserId(id, getCurrentUserId())
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
     }
 
     @CacheEvict(value = "expenses", allEntries = true)
+    @Transactional
     public void deleteExpense(Long id) {
         User user = getCurrentUser();
         Expense expense = expenseRepository.findByIdAndUser(id, user);
@@ -142,32 +342,84 @@ public class ExpenseService {
         }
 
         expenseRepository.delete(expense);
+        budgetService.recordSpend(List.of(new BudgetService.SpendDelta(
+                user.getId(), expense.getCategory().getId(), expense.getExpenseDate().withDayOfMonth(1),
+                expense.getCurrency(), -expense.getAmountMinor())));
+        spendSketchService.recordChanges(List.of(new SpendSketchService.SketchEntry(
+                user.getId(), expense.getCategory().getId(), expense.getExpenseDate(),
+                expense.getCurrency(), expense.getAmountMinor(), expense.getDescription())), List.of());
+        dataVersionService.increment(user.getId());
+        eventPublisher.publishEvent(new ExpenseChangedEvent(
+                user.getId(), ExpenseChangedEvent.Type.DELETED, expense.getId(), null));
     }
 
-    public Double getTotalExpense() {
+    // Totals are summed per currency in the database and each group is
+    // converted once, against a single rate snapshot, into the user's home
+    // currency.
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalExpense() {
         User user = getCurrentUser();
-        return expenseRepository.findByUser(user)
-                .stream()
-                .mapToDouble(Expense::getAmount)
-                .sum();
+        return Money.fromMinorUnits(totalMinor(user, fxRateService.current()), user.getHomeCurrency());
     }
 
-    public Map<String, Double> getCategorySummary() {
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> getCategorySummary() {
         User user = getCurrentUser();
+        return categorySummary(user, fxRateService.current());
+    }
 
-        return expenseRepository.findByUser(user)
-                .stream()
-                .collect(Collectors.groupingBy(
-                        Expense::getCategory,
-                        Collectors.summingDouble(Expense::getAmount)));
+    /**
+     * Total and category summary for a user outside a request, for pushing
+     * to live expense streams.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseTotalsResponse getTotals(Long userId) {
+        User user = userRepository.findById(userId).orElseThrow();
+        FxRates rates = fxRateService.current();
+        return new ExpenseTotalsResponse(
+                Money.fromMinorUnits(totalMinor(user, rates), user.getHomeCurrency()),
+                user.getHomeCurrency(),
+                categorySummary(user, rates));
+    }
+
+    private long totalMinor(User user, FxRates rates) {
+        long total = 0;
+        for (CurrencyTotal row : expenseRepository.sumByCurrency(user.getId())) {
+            total = Math.addExact(total, rates.convert(row.totalMinor(), row.currency(), user.getHomeCurrency()));
+        }
+        return total;
+    }
+
+    Map<String, BigDecimal> categorySummary(User user, FxRates rates) {
+        CategoryTotals totals = new CategoryTotals();
+        for (CategoryTotal row : expenseRepository.sumByCategoryAndCurrency(user.getId())) {
+            totals.add(row.categoryId(), rates.convert(row.totalMinor(), row.currency(), user.getHomeCurrency()));
+        }
+
+        Map<String, BigDecimal> summary = new HashMap<>();
+        totals.forEach((categoryId, totalMinor) -> summary.put(
+                categoryService.nameOf(categoryId),
+                Money.fromMinorUnits(totalMinor, user.getHomeCurrency())));
+        return summary;
     }
 
     private ExpenseResponse toResponse(Expense expense) {
         return new ExpenseResponse(
                 expense.getId(),
-                expense.getAmount(),
-                expense.getCategory(),
+                Money.fromMinorUnits(expense.getAmountMinor(), expense.getCurrency()),
+                expense.getCurrency(),
+                categoryService.nameOf(expense.getCategory().getId()),
                 expense.getDescription(),
                 expense.getExpenseDate());
     }
+
+    ExpenseResponse toResponse(ExpenseRow row) {
+        return new ExpenseResponse(
+                row.id(),
+                Money.fromMinorUnits(row.amountMinor(), row.currency()),
+                row.currency(),
+                categoryService.nameOf(row.categoryId()),
+                row.description(),
+                row.expenseDate());
+    }
 }
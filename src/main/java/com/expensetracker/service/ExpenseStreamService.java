@@ -0,0 +1,230 @@
+package com.expensetracker.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.expensetracker.dto.ExpenseTotalsResponse;
+import com.expensetracker.exception.RateLimitExceededException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed expense changes and refreshed totals to open
+ * Server-Sent Event streams. Streams are async servlet responses, so an
+ * idle connection holds no thread. Changes are buffered per connection and
+ * flushed on a fixed interval; totals are computed once per user per flush
+ * however many writes or tabs are involved, and a small sender pool writes
+ * to each connection one batch at a time.
+ */
+@Service
+public class ExpenseStreamService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseStreamService.class);
+
+    private final ExpenseService expenseService;
+    private final Map<Long, Set<ExpenseSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Queue<ExpenseSubscription> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolTaskExecutor senders;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final int maxPerUser;
+    private final int maxConnections;
+
+    public ExpenseStreamService(
+            ExpenseService expenseService,
+            @Value("${app.stream.timeout:PT30M}") Duration timeout,
+            @Value("${app.stream.buffer-size:64}") int bufferSize,
+            @Value("${app.stream.max-per-user:5}") int maxPerUser,
+            @Value("${app.stream.max-connections:20000}") int maxConnections,
+            @Value("${app.stream.senders:4}") int senders) {
+        this.expenseService = expenseService;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.maxPerUser = maxPerUser;
+        this.maxConnections = maxConnections;
+        this.senders = new ThreadPoolTaskExecutor();
+        this.senders.setCorePoolSize(senders);
+        this.senders.setMaxPoolSize(senders);
+        this.senders.setThreadNamePrefix("expense-stream-");
+        this.senders.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+        subscriptions.values().forEach(set -> set.forEach(subscription -> subscription.emitter().complete()));
+    }
+
+    private Long getCurrentUserId() {
+        return Long.valueOf(
+                SecurityContextHolder.getContext()
+                        .getAuthentication()
+                        .getPrincipal()
+                        .toString());
+    }
+
+    public SseEmitter subscribe() {
+        Long userId = getCurrentUserId();
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RateLimitExceededException("Too many open expense streams, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ExpenseSubscription subscription = new ExpenseSubscription(userId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+
+        Set<ExpenseSubscription> userSubscriptions = subscriptions.compute(userId, (id, set) -> {
+            Set<ExpenseSubscription> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            current.add(subscription);
+            return current;
+        });
+        if (userSubscriptions.size() > maxPerUser) {
+            userSubscriptions.stream()
+                    .filter(other -> other != subscription)
+                    .min(Comparator.comparingLong(ExpenseSubscription::openedAt))
+                    .ifPresent(oldest -> oldest.emitter().complete());
+        }
+
+        // the first flush sends current totals, so clients never need to poll
+        subscription.refreshTotals();
+        schedule(subscription);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Set<ExpenseSubscription> userSubscriptions = subscriptions.get(event.userId());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (ExpenseSubscription subscription : userSubscriptions) {
+            subscription.offer(event);
+            schedule(subscription);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.flush-interval:PT1S}")
+    public void flush() {
+        Map<Long, ExpenseTotalsResponse> totals = new HashMap<>();
+        ExpenseSubscription subscription;
+        while ((subscription = dirty.poll()) != null) {
+            ExpenseSubscription.Batch batch = subscription.drain();
+            ExpenseTotalsResponse userTotals = batch.totalsChanged()
+                    ? totals.computeIfAbsent(subscription.userId(), this::loadTotals)
+                    : null;
+            ExpenseSubscription target = subscription;
+            senders.execute(() -> send(target, batch, userTotals));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.stream.heartbeat:PT25S}")
+    public void heartbeat() {
+        subscriptions.values().forEach(set -> set.forEach(subscription -> {
+            subscription.heartbeat();
+            schedule(subscription);
+        }));
+    }
+
+    public int getOpenConnections() {
+        return connections.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("expense.stream.connections", connections, AtomicInteger::get)
+                .description("Open expense event streams")
+                .register(registry);
+        Gauge.builder("expense.stream.pending", dirty, Queue::size)
+                .description("Streams waiting for the next flush")
+                .register(registry);
+    }
+
+    private void send(ExpenseSubscription subscription, ExpenseSubscription.Batch batch, ExpenseTotalsResponse totals) {
+        SseEmitter emitter = subscription.emitter();
+        try {
+            boolean sent = false;
+            if (batch.overflowed()) {
+                emitter.send(SseEmitter.event().name("resync").data(""));
+                sent = true;
+            } else {
+                for (ExpenseChangedEvent event : batch.events()) {
+                    String name = "expense-" + event.type().name().toLowerCase(Locale.ROOT);
+                    Object data = event.expense() != null ? event.expense() : Map.of("id", event.expenseId());
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                    sent = true;
+                }
+                if (batch.generated()) {
+                    emitter.send(SseEmitter.event().name("expenses-generated").data(""));
+                    sent = true;
+                }
+            }
+            if (totals != null) {
+                emitter.send(SseEmitter.event().name("totals").data(totals, MediaType.APPLICATION_JSON));
+                sent = true;
+            }
+            if (batch.heartbeat() && !sent) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away or the emitter already completed
+            emitter.completeWithError(e);
+            remove(subscription);
+        } finally {
+            if (subscription.finishSend()) {
+                dirty.add(subscription);
+            }
+        }
+    }
+
+    private ExpenseTotalsResponse loadTotals(Long userId) {
+        try {
+            return expenseService.getTotals(userId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not load totals for expense stream of user {}: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void schedule(ExpenseSubscription subscription) {
+        if (subscription.schedule()) {
+            dirty.add(subscription);
+        }
+    }
+
+    private void remove(ExpenseSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId(), (id, set) -> {
+            if (set.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.expensetracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.expensetracker.service.ExpenseChangedEvent.Type;
+
+/**
+ * One open expense stream. Changes wait in a small buffer keyed by expense
+ * id, so repeated updates to the same expense between flushes collapse into
+ * one event. A buffer that overflows is dropped and replaced by a single
+ * resync instruction; the client refetches instead of the server queueing
+ * without bound for a slow reader.
+ */
+final class ExpenseSubscription {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final long openedAt = System.nanoTime();
+
+    private final Map<Long, ExpenseChangedEvent> pending = new LinkedHashMap<>();
+    private boolean generated;
+    private boolean totalsChanged;
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    // queued for flushing or being sent; keeps sends to one at a time
+    private boolean scheduled;
+
+    ExpenseSubscription(Long userId, SseEmitter emitter, int capacity) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    long openedAt() {
+        return openedAt;
+    }
+
+    synchronized void offer(ExpenseChangedEvent event) {
+        totalsChanged = true;
+        if (overflowed) {
+            return;
+        }
+        if (event.type() == Type.GENERATED) {
+            generated = true;
+            return;
+        }
+
+        ExpenseChangedEvent merged = coalesce(pending.remove(event.expenseId()), event);
+        if (merged != null) {
+            pending.put(event.expenseId(), merged);
+        }
+        if (pending.size() > capacity) {
+            pending.clear();
+            generated = false;
+            overflowed = true;
+        }
+    }
+
+    synchronized void refreshTotals() {
+        totalsChanged = true;
+    }
+
+    synchronized void heartbeat() {
+        heartbeatDue = true;
+    }
+
+    /**
+     * Claims the subscription for flushing; false if it is already queued
+     * or sending.
+     */
+    synchronized boolean schedule() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    synchronized Batch drain() {
+        Batch batch = new Batch(
+                new ArrayList<>(pending.values()), generated, totalsChanged, overflowed, heartbeatDue);
+        pending.clear();
+        generated = false;
+        totalsChanged = false;
+        overflowed = false;
+        heartbeatDue = false;
+        return batch;
+    }
+
+    /**
+     * Releases the subscription after a send. Returns true if changes
+     * arrived meanwhile, in which case it stays claimed and must be queued
+     * again.
+     */
+    synchronized boolean finishSend() {
+        if (!pending.isEmpty() || generated || totalsChanged || overflowed || heartbeatDue) {
+            return true;
+        }
+        scheduled = false;
+        return false;
+    }
+
+    private static ExpenseChangedEvent coalesce(ExpenseChangedEvent previous, ExpenseChangedEvent next) {
+        if (previous == null || previous.type() != Type.CREATED) {
+            return next;
+        }
+        // the client has not seen the expense yet
+        return switch (next.type()) {
+            case DELETED -> null;
+            case UPDATED -> new ExpenseChangedEvent(next.userId(), Type.CREATED, next.expenseId(), next.expense());
+            default -> next;
+        };
+    }
+
+    record Batch(
+            List<ExpenseChangedEvent> events,
+            boolean generated,
+            boolean totalsChanged,
+            boolean overflowed,
+            boolean heartbeat) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.expensetracker.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.model.FileUpload;
+import com.expensetracker.model.ReconciliationCheckpoint;
+import com.expensetracker.repository.FileUploadRepository;
+import com.expensetracker.repository.ReconciliationCheckpointRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Walks the file_uploads table and the upload directory in bounded batches.
+ * Rows are read by id keyset and only their own paths are checked, so
+ * missing blobs are reported without listing anything. The directory is
+ * walked one shard subdirectory at a time (see
+ * {@link FileStorageService#shardOf}); files with no row are moved to the
+ * quarantine directory once they are older than the grace period, so
+ * in-flight uploads are left alone. Both cursors are persisted after every
+ * run so a restart resumes where the last run stopped.
+ *
+ * <p>Uploads stored before sharding sit directly in the upload directory.
+ * Each run takes up to a batch of them, moves the referenced ones into
+ * their shard and quarantines old orphans, so the top level drains and is
+ * never rescanned as a whole.
+ */
+@Service
+public class FileReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileReconciliationService.class);
+
+    static final String CHECKPOINT_NAME = "file_uploads";
+
+    private static final int SHARDS = 256;
+
+    private final FileUploadRepository fileUploadRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
+    private final Path uploadPath;
+    private final Path quarantinePath;
+    private final int batchSize;
+    private final Duration gracePeriod;
+    private final boolean enabled;
+    private final Counter missingBlobs;
+    private final Counter quarantined;
+
+    public FileReconciliationService(
+            FileUploadRepository fileUploadRepository,
+            ReconciliationCheckpointRepository checkpointRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.file.upload-dir:./uploads}") String uploadDir,
+            @Value("${app.file.quarantine-dir:./uploads-quarantine}") String quarantineDir,
+            @Value("${app.file.reconcile.batch-size:500}") int batchSize,
+            @Value("${app.file.reconcile.grace-period:PT1H}") Duration gracePeriod,
+            @Value("${app.file.reconcile.enabled:true}") boolean enabled) {
+        this.fileUploadRepository = fileUploadRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.quarantinePath = Paths.get(quarantineDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.gracePeriod = gracePeriod;
+        this.enabled = enabled;
+        this.missingBlobs = Counter.builder("file.reconcile.missing")
+                .description("File upload rows found without their blob")
+                .register(meterRegistry);
+        this.quarantined = Counter.builder("file.reconcile.quarantined")
+                .description("Unreferenced uploads moved to the quarantine directory")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.file.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${app.file.reconcile.interval:PT5M}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        ReconciliationCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .orElseGet(() -> new ReconciliationCheckpoint(CHECKPOINT_NAME));
+
+        try {
+            checkMissingBlobs(checkpoint);
+            quarantineOrphans(checkpoint);
+            drainLegacyFiles();
+        } catch (IOException e) {
+            logger.error("File reconciliation stopped: {}", e.getMessage());
+        } finally {
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private void checkMissingBlobs(ReconciliationCheckpoint checkpoint) {
+        List<FileUpload> rows = fileUploadRepository.findByIdGreaterThanOrderByIdAsc(
+                checkpoint.getLastFileId(), Limit.of(batchSize));
+
+        int missing = 0;
+        for (FileUpload row : rows) {
+            if (!Files.exists(Paths.get(row.getFilePath()))) {
+                missing++;
+                missingBlobs.increment();
+                logger.warn("Missing blob for file upload {}: {}", row.getId(), row.getFilePath());
+            }
+        }
+
+        if (rows.size() < batchSize) {
+            logger.info("Completed file_uploads pass, {} missing blobs in last batch", missing);
+            checkpoint.setLastFileId(0L);
+        } else {
+            checkpoint.setLastFileId(rows.get(rows.size() - 1).getId());
+        }
+    }
+
+    // Finishes whole shards until at least a batch of files has been
+    // examined; a shard holds about 1/256 of the store.
+    private void quarantineOrphans(ReconciliationCheckpoint checkpoint) throws IOException {
+        String lastShard = checkpoint.getLastShard();
+        int next = lastShard == null ? 0 : Integer.parseInt(lastShard, 16) + 1;
+
+        int examined = 0;
+        while (next < SHARDS && examined < batchSize) {
+            String shard = "%02x".formatted(next);
+            examined += quarantineOrphans(uploadPath.resolve(shard));
+            checkpoint.setLastShard(shard);
+            next++;
+        }
+
+        if (next == SHARDS) {
+            logger.info("Completed upload directory pass");
+            checkpoint.setLastShard(null);
+        }
+    }
+
+    private int quarantineOrphans(Path shard) throws IOException {
+        if (!Files.isDirectory(shard)) {
+            return 0;
+        }
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shard, Files::isRegularFile)) {
+            for (Path path : stream) {
+                names.add(path.getFileName().toString());
+            }
+        }
+
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> chunk = names.subList(from, Math.min(from + batchSize, names.size()));
+            Set<String> known = fileUploadRepository.findExistingStoredFilenames(chunk);
+            for (String name : chunk) {
+                if (!known.contains(name)) {
+                    quarantineIfOld(shard.resolve(name), cutoff);
+                }
+            }
+        }
+        return names.size();
+    }
+
+    // Referenced files are linked into their shard before the row points
+    // there, so downloads find the blob at either path throughout.
+    private void drainLegacyFiles() throws IOException {
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(uploadPath, Files::isRegularFile)) {
+            for (Path path : stream) {
+                names.add(path.getFileName().toString());
+                if (names.size() == batchSize) {
+                    break;
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+
+        Map<String, FileUpload> rows = fileUploadRepository.findByStoredFilenameIn(names).stream()
+                .collect(Collectors.toMap(FileUpload::getStoredFilename, Function.identity()));
+        Instant cutoff = Instant.now().minus(gracePeriod);
+
+        for (String name : names) {
+            Path legacy = uploadPath.resolve(name);
+            FileUpload row = rows.get(name);
+            if (row == null) {
+                quarantineIfOld(legacy, cutoff);
+                continue;
+            }
+            Path target = uploadPath.resolve(FileStorageService.shardOf(name)).resolve(name);
+            Files.createDirectories(target.getParent());
+            placeInShard(legacy, target);
+            row.setFilePath(target.toString());
+            fileUploadRepository.save(row);
+            Files.delete(legacy);
+        }
+    }
+
+    // A target that already exists was left by a run that stopped before
+    // deleting the legacy entry. It is kept if it holds the same bytes, and
+    // otherwise, e.g. after an interrupted copy, replaced in one move so the
+    // shard path never shows a partial file.
+    private static void placeInShard(Path legacy, Path target) throws IOException {
+        if (!Files.exists(target)) {
+            linkOrCopy(legacy, target);
+            return;
+        }
+        if (Files.isSameFile(target, legacy) || Files.mismatch(target, legacy) == -1L) {
+            return;
+        }
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        Files.deleteIfExists(partial);
+        linkOrCopy(legacy, partial);
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void quarantineIfOld(Path file, Instant cutoff) throws IOException {
+        if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+            return;
+        }
+        Files.createDirectories(quarantinePath);
+        Files.move(file, quarantinePath.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        quarantined.increment();
+        logger.warn("Quarantined orphan upload {}", file.getFileName());
+    }
+}
@@ -5,17 +5,23 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.expensetracker.dto.FileListResponse;
 import com.expensetracker.dto.FileUploadResponse;
 import com.expensetracker.exception.ResourceNotFoundException;
 import com.expensetracker.model.Expense;
@@ -25,24 +31,31 @@ import com.expensetracker.repository.ExpenseRepository;
 import com.expensetracker.repository.FileUploadRepository;
 import com.expensetracker.repository.UserRepository;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.annotation.PostConstruct;
 
 @Service
+@Observed(name = "app.service")
 public class FileStorageService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final FileUploadRepository fileUploadRepository;
     private final UserRepository userRepository;
     private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate transactionTemplate;
     private final Path uploadPath;
 
     public FileStorageService(
             FileUploadRepository fileUploadRepository,
             UserRepository userRepository,
             ExpenseRepository expenseRepository,
+            PlatformTransactionManager transactionManager,
             @Value("${app.file.upload-dir:./uploads}") String uploadDir) {
         this.fileUploadRepository = fileUploadRepository;
         this.userRepository = userRepository;
         this.expenseRepository = expenseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
     }
 
@@ -55,18 +68,28 @@ public class FileStorageService {
         }
     }
 
-    private User getCurrentUser() {
-        Long userId = Long.valueOf(
+    // Uploads are spread over 256 subdirectories named after the first two
+    // hex digits of their UUID, so the reconciler can walk the store one
+    // small directory at a time.
+    static String shardOf(String storedFilename) {
+        return storedFilename.substring(0, 2);
+    }
+
+    private Long getCurrentUserId() {
+        return Long.valueOf(
                 SecurityContextHolder.getContext()
                         .getAuthentication()
                         .getPrincipal()
                         .toString());
-        return userRepository.findById(userId).orElseThrow();
     }
 
-    public FileUploadResponse uploadFile(MultipartFile file, Long expenseId) throws IOException {
-        User user = getCurrentUser();
+    private User getCurrentUser() {
+        return userRepository.findById(getCurrentUserId()).orElseThrow();
+    }
 
+    // The file is written before the transaction starts and deleted again if
+    // it fails, so no connection is held while the upload is copied.
+    public FileUploadResponse uploadFile(MultipartFile file, Long expenseId) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("Cannot upload empty file");
         }
@@ -78,7 +101,8 @@ public class FileStorageService {
         }
         String storedFilename = UUID.randomUUID().toString() + extension;
 
-        Path targetPath = uploadPath.resolve(storedFilename);
+        Path targetPath = uploadPath.resolve(shardOf(storedFilename)).resolve(storedFilename);
+        Files.createDirectories(targetPath.getParent());
         Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
 
         FileUpload fileUpload = new FileUpload();
@@ -87,19 +111,26 @@ public class FileStorageService {
         fileUpload.setContentType(file.getContentType());
         fileUpload.setFileSize(file.getSize());
         fileUpload.setFilePath(targetPath.toString());
-        fileUpload.setUser(user);
 
-        if (expenseId != null) {
-            Expense expense = expenseRepository.findByIdAndUser(expenseId, user);
-            if (expense != null) {
-                fileUpload.setExpense(expense);
-            }
+        try {
+            return transactionTemplate.execute(status -> {
+                User user = getCurrentUser();
+                fileUpload.setUser(user);
+                if (expenseId != null) {
+                    Expense expense = expenseRepository.findByIdAndUser(expenseId, user);
+                    if (expense != null) {
+                        fileUpload.setExpense(expense);
+                    }
+                }
+                return toResponse(fileUploadRepository.save(fileUpload));
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(targetPath);
+            throw e;
         }
-
-        FileUpload saved = fileUploadRepository.save(fileUpload);
-        return toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public Resource downloadFile(Long fileId) throws IOException {
         User user = getCurrentUser();
         FileUpload fileUpload = fileUploadRepository.findByIdAndUser(fileId, user);
@@ -118,6 +149,7 @@ public class FileStorageService {
         return resource;
     }
 
+    @Transactional(readOnly = true)
     public FileUpload getFileUpload(Long fileId) {
         User user = getCurrentUser();
         FileUpload fileUpload = fileUploadRepository.findByIdAndUser(fileId, user);
@@ -129,26 +161,51 @@ public class FileStorageService {
         return fileUpload;
     }
 
-    public List<FileUploadResponse> getUserFiles() {
-        User user = getCurrentUser();
-        return fileUploadRepository.findByUser(user)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public FileListResponse getUserFiles(
+            Long expenseId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Long cursor,
+            int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+
+        List<FileUploadResponse> files = fileUploadRepository.findPageByUserId(
+                getCurrentUserId(),
+                cursor != null ? cursor : Long.MAX_VALUE,
+                expenseId,
+                from,
+                to,
+                Limit.of(size + 1));
+
+        if (files.size() <= size) {
+            return new FileListResponse(files, null);
+        }
+
+        List<FileUploadResponse> page = files.subList(0, size);
+        return new FileListResponse(page, page.get(size - 1).getId());
     }
 
+    // The blob is removed only once the row's deletion has committed.
     public void deleteFile(Long fileId) throws IOException {
-        User user = getCurrentUser();
-        FileUpload fileUpload = fileUploadRepository.findByIdAndUser(fileId, user);
+        String filePath = transactionTemplate.execute(status -> {
+            User user = getCurrentUser();
+            FileUpload fileUpload = fileUploadRepository.findByIdAndUser(fileId, user);
 
-        if (fileUpload == null) {
-            throw new ResourceNotFoundException("File not found with id: " + fileId);
-        }
+            if (fileUpload == null) {
+                throw new ResourceNotFoundException("File not found with id: " + fileId);
+            }
 
-        Path filePath = Paths.get(fileUpload.getFilePath());
-        Files.deleteIfExists(filePath);
+            fileUploadRepository.delete(fileUpload);
+            return fileUpload.getFilePath();
+        });
 
-        fileUploadRepository.delete(fileUpload);
+        Files.deleteIfExists(Paths.get(filePath));
     }
 
     private FileUploadResponse toResponse(FileUpload fileUpload) {
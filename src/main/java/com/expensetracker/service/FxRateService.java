@@ -0,0 +1,135 @@
+package com.expensetracker.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.model.FxRate;
+import com.expensetracker.repository.FxRateRepository;
+import com.expensetracker.util.FxRates;
+
+/**
+ * Owns the exchange rates used for reporting. The fx_rates table is the
+ * source of truth; conversions read an immutable in-memory snapshot through
+ * a single volatile reference, so the hot path takes no locks. Rates are
+ * replaced from the admin endpoint or the optional rates file and re-read
+ * periodically so every instance converges on the same table.
+ */
+@Service
+public class FxRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FxRateService.class);
+
+    private final FxRateRepository fxRateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String baseCurrency;
+    private final String ratesFile;
+    private final AtomicReference<FxRates> snapshot;
+
+    public FxRateService(
+            FxRateRepository fxRateRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.fx.base-currency:${app.currency.default:USD}}") String baseCurrency,
+            @Value("${app.fx.rates-file:}") String ratesFile) {
+        this.fxRateRepository = fxRateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.baseCurrency = baseCurrency;
+        this.ratesFile = ratesFile;
+        this.snapshot = new AtomicReference<>(FxRates.of(baseCurrency, Map.of(), Instant.now()));
+    }
+
+    public FxRates current() {
+        return snapshot.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() throws IOException {
+        if (ratesFile.isBlank()) {
+            reload();
+        } else {
+            replaceRates(readRatesFile(Paths.get(ratesFile)));
+            logger.info("Loaded exchange rates from {}", ratesFile);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.fx.reload-interval:PT5M}",
+            fixedDelayString = "${app.fx.reload-interval:PT5M}")
+    public void reload() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll()) {
+            rates.put(rate.getCurrency(), rate.getRate());
+        }
+        snapshot.set(FxRates.of(baseCurrency, rates, Instant.now()));
+    }
+
+    /**
+     * Replaces the whole rate table. A currency that expenses, budgets,
+     * recurring templates or home currencies still use cannot be left out,
+     * since their conversions would start failing.
+     */
+    public FxRates replaceRates(Map<String, BigDecimal> rates) {
+        // validates every entry before anything is written
+        FxRates next = FxRates.of(baseCurrency, rates, Instant.now());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FxRate> rows = next.getRates().entrySet().stream()
+                .map(entry -> new FxRate(entry.getKey(), entry.getValue(), now))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<FxRate> dropped = fxRateRepository.findAll().stream()
+                    .filter(rate -> !next.supports(rate.getCurrency()))
+                    .toList();
+            if (!dropped.isEmpty()) {
+                List<String> inUse = fxRateRepository.findCurrenciesInUse(
+                        dropped.stream().map(FxRate::getCurrency).toList());
+                if (!inUse.isEmpty()) {
+                    throw new IllegalArgumentException("Exchange rates still in use cannot be removed: "
+                            + String.join(", ", inUse.stream().sorted().toList()));
+                }
+            }
+            // kept currencies are updated in place, new ones inserted
+            fxRateRepository.deleteAll(dropped);
+            fxRateRepository.saveAll(rows);
+        });
+
+        snapshot.set(next);
+        return next;
+    }
+
+    // One "CODE,rate" pair per line; blank lines and # comments are skipped.
+    static Map<String, BigDecimal> readRatesFile(Path path) throws IOException {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        for (String line : Files.readAllLines(path)) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split(",");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid exchange rate line: " + line);
+            }
+            rates.put(parts[0].trim().toUpperCase(Locale.ROOT), new BigDecimal(parts[1].trim()));
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,293 @@
+package com.expensetracker.service;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.config.BatchDatabase;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Materializes due occurrences of recurring expenses. Templates are split
+ * across workers by {@code user_id % workers}; each worker claims due
+ * templates in batches and, in one transaction per batch, advances the
+ * templates' next run date and inserts every occurrence up to today.
+ *
+ * <p>Runs are idempotent: an occurrence is only inserted if its
+ * (template, date) pair does not exist yet, and the next run date only moves
+ * forward from the value that was read; a template another run has advanced
+ * in the meantime gets no occurrences from this one. After downtime the same loop simply
+ * catches up, at most {@code max-catch-up} occurrences per template per batch.
+ */
+@Service
+public class RecurringExpenseScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseScheduler.class);
+
+    private static final String DUE_TEMPLATES = """
+            SELECT id, user_id, category_id, amount_minor, currency, description, schedule, end_date, next_run_date
+            FROM recurring_expenses
+            WHERE next_run_date <= ? AND MOD(user_id, ?) = ?
+            ORDER BY next_run_date, id
+            LIMIT ?
+            """;
+
+    private static final String INSERT_OCCURRENCE = """
+            INSERT INTO expenses (amount_minor, currency, category_id, description, expense_date, user_id,
+                                  created_at, recurring_expense_id, occurrence_date)
+            SELECT ?, ?, ?, ?, CAST(? AS DATE), ?, LOCALTIMESTAMP, ?, CAST(? AS DATE)
+            WHERE NOT EXISTS (
+                SELECT 1 FROM expenses WHERE recurring_expense_id = ? AND occurrence_date = CAST(? AS DATE))
+            """;
+
+    private static final String ADVANCE_TEMPLATE =
+            "UPDATE recurring_expenses SET next_run_date = ? WHERE id = ? AND next_run_date = ?";
+
+    private final BatchDatabase batchDatabase;
+    private final BudgetService budgetService;
+    private final SpendSketchService spendSketchService;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor executor;
+    private final int workers;
+    private final int batchSize;
+    private final int maxCatchUp;
+    private final boolean enabled;
+
+    public RecurringExpenseScheduler(
+            BatchDatabase batchDatabase,
+            BudgetService budgetService,
+            SpendSketchService spendSketchService,
+            DataVersionService dataVersionService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.recurring.workers:4}") int workers,
+            @Value("${app.recurring.batch-size:500}") int batchSize,
+            @Value("${app.recurring.max-catch-up:366}") int maxCatchUp,
+            @Value("${app.recurring.enabled:true}") boolean enabled) {
+        this.batchDatabase = batchDatabase;
+        this.budgetService = budgetService;
+        this.spendSketchService = spendSketchService;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxCatchUp = maxCatchUp;
+        this.enabled = enabled;
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(workers);
+        this.executor.setMaxPoolSize(workers);
+        this.executor.setThreadNamePrefix("recurring-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.recurring.initial-delay:PT30S}",
+            fixedDelayString = "${app.recurring.interval:PT1H}")
+    public void generateDueOccurrences() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Future<Integer>> partitions = new ArrayList<>(workers);
+        for (int partition = 0; partition < workers; partition++) {
+            int current = partition;
+            partitions.add(executor.submit(() -> generatePartition(current, today)));
+        }
+
+        int generated = 0;
+        for (Future<Integer> partition : partitions) {
+            try {
+                generated += partition.get();
+            } catch (ExecutionException e) {
+                logger.error("Recurring expense partition failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (generated > 0) {
+            logger.info("Generated {} recurring expense occurrences", generated);
+        }
+    }
+
+    private int generatePartition(int partition, LocalDate today) {
+        int generated = 0;
+        while (true) {
+            BatchResult result = batchDatabase.transactions()
+                    .execute(status -> generateBatch(partition, today));
+            generated += result.inserted();
+            if (result.templates() < batchSize) {
+                return generated;
+            }
+        }
+    }
+
+    private BatchResult generateBatch(int partition, LocalDate today) {
+        JdbcTemplate jdbc = batchDatabase.jdbc();
+        List<DueTemplate> due = jdbc.query(DUE_TEMPLATES, (rs, rowNum) -> new DueTemplate(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getInt("category_id"),
+                rs.getLong("amount_minor"),
+                rs.getString("currency"),
+                rs.getString("description"),
+                rs.getString("schedule"),
+                rs.getObject("end_date", LocalDate.class),
+                rs.getObject("next_run_date", LocalDate.class)),
+                today, workers, partition, batchSize);
+        if (due.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<List<Occurrence>> collected = new ArrayList<>(due.size());
+        List<Object[]> advances = new ArrayList<>(due.size());
+        for (DueTemplate template : due) {
+            List<Occurrence> pending = new ArrayList<>();
+            LocalDate next = collectOccurrences(template, today, pending);
+            collected.add(pending);
+            advances.add(new Object[] {next, template.id(), template.nextRunDate()});
+        }
+
+        // Templates are advanced first: the update locks each row, and one
+        // that no longer has the date that was read has been generated by
+        // another run since, so its occurrences are left to that run.
+        int[] advanced = jdbc.batchUpdate(
+                ADVANCE_TEMPLATE, advances, new int[] {Types.DATE, Types.BIGINT, Types.DATE});
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            if (advanced[i] == 0) {
+                logger.info("Skipping recurring expense {}: advanced past {} by another run",
+                        due.get(i).id(), due.get(i).nextRunDate());
+                continue;
+            }
+            occurrences.addAll(collected.get(i));
+        }
+
+        int[][] counts = jdbc.batchUpdate(INSERT_OCCURRENCE, occurrences, batchSize, (ps, occurrence) -> {
+            DueTemplate template = occurrence.template();
+            ps.setLong(1, template.amountMinor());
+            ps.setString(2, template.currency());
+            ps.setInt(3, template.categoryId());
+            ps.setString(4, template.description());
+            ps.setObject(5, occurrence.date(), Types.DATE);
+            ps.setLong(6, template.userId());
+            ps.setLong(7, template.id());
+            ps.setObject(8, occurrence.date(), Types.DATE);
+            ps.setLong(9, template.id());
+            ps.setObject(10, occurrence.date(), Types.DATE);
+        });
+
+        Map<DeltaKey, Long> spent = new LinkedHashMap<>();
+        List<SpendSketchService.SketchEntry> sketched = new ArrayList<>();
+        int inserted = 0;
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Occurrence occurrence = occurrences.get(index++);
+                if (count == 0) {
+                    continue;
+                }
+                inserted++;
+                DueTemplate template = occurrence.template();
+                spent.merge(
+                        new DeltaKey(template.userId(), template.categoryId(),
+                                occurrence.date().withDayOfMonth(1), template.currency()),
+                        template.amountMinor(),
+                        Math::addExact);
+                sketched.add(new SpendSketchService.SketchEntry(
+                        template.userId(), template.categoryId(), occurrence.date(),
+                        template.currency(), template.amountMinor(), template.description()));
+            }
+        }
+
+        budgetService.recordSpend(jdbc, spent.entrySet().stream()
+                .map(entry -> new BudgetService.SpendDelta(
+                        entry.getKey().userId(),
+                        entry.getKey().categoryId(),
+                        entry.getKey().periodStart(),
+                        entry.getKey().currency(),
+                        entry.getValue()))
+                .toList());
+        spendSketchService.recordExpenses(jdbc, sketched);
+        List<Long> changedUsers = spent.keySet().stream()
+                .map(DeltaKey::userId)
+                .distinct()
+                .toList();
+        dataVersionService.increment(jdbc, changedUsers);
+        changedUsers.forEach(userId -> eventPublisher.publishEvent(
+                new ExpenseChangedEvent(userId, ExpenseChangedEvent.Type.GENERATED, null, null)));
+
+        return new BatchResult(due.size(), inserted);
+    }
+
+    // Adds the template's occurrences up to today and returns its new next
+    // run date, or null once the schedule or end date is exhausted.
+    private LocalDate collectOccurrences(DueTemplate template, LocalDate today, List<Occurrence> occurrences) {
+        CronExpression schedule;
+        try {
+            schedule = RecurringExpenseService.parseSchedule(template.schedule());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Disabling recurring expense {}: {}", template.id(), e.getMessage());
+            return null;
+        }
+
+        LocalDate date = template.nextRunDate();
+        int added = 0;
+        while (date != null && !date.isAfter(today) && added < maxCatchUp) {
+            if (template.endDate() != null && date.isAfter(template.endDate())) {
+                return null;
+            }
+            occurrences.add(new Occurrence(template, date));
+            added++;
+            date = RecurringExpenseService.nextOccurrence(schedule, date);
+        }
+        if (date != null && template.endDate() != null && date.isAfter(template.endDate())) {
+            return null;
+        }
+        return date;
+    }
+
+    private record DueTemplate(
+            long id,
+            long userId,
+            int categoryId,
+            long amountMinor,
+            String currency,
+            String description,
+            String schedule,
+            LocalDate endDate,
+            LocalDate nextRunDate) {
+    }
+
+    private record Occurrence(DueTemplate template, LocalDate date) {
+    }
+
+    private record DeltaKey(Long userId, Integer categoryId, LocalDate periodStart, String currency) {
+    }
+
+    private record BatchResult(int templates, int inserted) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.expensetracker.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Currency;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.dto.CreateRecurringExpenseRequest;
+import com.expensetracker.dto.RecurringExpenseResponse;
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.model.RecurringExpense;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.RecurringExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.Money;
+
+@Service
+public class RecurringExpenseService {
+
+    private final RecurringExpenseRepository recurringExpenseRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final FxRateService fxRateService;
+    private final Currency defaultCurrency;
+
+    public RecurringExpenseService(
+            RecurringExpenseRepository recurringExpenseRepository,
+            UserRepository userRepository,
+            CategoryService categoryService,
+            FxRateService fxRateService,
+            @Value("${app.currency.default:USD}") String defaultCurrency) {
+        this.recurringExpenseRepository = recurringExpenseRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.fxRateService = fxRateService;
+        this.defaultCurrency = Currency.getInstance(defaultCurrency);
+    }
+
+    private Long getCurrentUserId() {
+        return Long.valueOf(
+                SecurityContextHolder.getContext()
+                        .getAuthentication()
+                        .getPrincipal()
+                        .toString());
+    }
+
+    public static CronExpression parseSchedule(String schedule) {
+        try {
+            return CronExpression.parse(schedule.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid schedule: " + schedule);
+        }
+    }
+
+    /**
+     * First date strictly after {@code date} on which the schedule fires, or
+     * null if it never fires again.
+     */
+    public static LocalDate nextOccurrence(CronExpression schedule, LocalDate date) {
+        LocalDateTime next = schedule.next(date.atTime(LocalTime.MAX));
+        return next != null ? next.toLocalDate() : null;
+    }
+
+    @Transactional
+    public RecurringExpenseResponse create(CreateRecurringExpenseRequest request) {
+        Long userId = getCurrentUserId();
+        CronExpression schedule = parseSchedule(request.getSchedule());
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        Currency currency = request.getCurrency() != null
+                ? Currency.getInstance(request.getCurrency())
+                : defaultCurrency;
+        if (!fxRateService.current().supports(currency.getCurrencyCode())) {
+            throw new IllegalArgumentException("No exchange rate for currency: " + currency.getCurrencyCode());
+        }
+
+        LocalDate first = nextOccurrence(schedule, request.getStartDate().minusDays(1));
+        if (first != null && request.getEndDate() != null && first.isAfter(request.getEndDate())) {
+            first = null;
+        }
+
+        RecurringExpense recurring = new RecurringExpense();
+        recurring.setUser(userRepository.getReferenceById(userId));
+        recurring.setCategory(categoryService.reference(userId, request.getCategory()));
+        recurring.setAmountMinor(Money.toMinorUnits(request.getAmount(), currency));
+        recurring.setCurrency(currency.getCurrencyCode());
+        recurring.setDescription(request.getDescription());
+        recurring.setSchedule(request.getSchedule().trim());
+        recurring.setStartDate(request.getStartDate());
+        recurring.setEndDate(request.getEndDate());
+        recurring.setNextRunDate(first);
+
+        return toResponse(recurringExpenseRepository.save(recurring));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseResponse> list() {
+        return recurringExpenseRepository.findByUserIdOrderByIdAsc(getCurrentUserId())
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // Expenses already generated stay; the database detaches them from the
+    // template (ON DELETE SET NULL).
+    @Transactional
+    public void delete(Long id) {
+        User user = userRepository.getReferenceById(getCurrentUserId());
+        RecurringExpense recurring = recurringExpenseRepository.findByIdAndUser(id, user);
+
+        if (recurring == null) {
+            throw new ResourceNotFoundException("Recurring expense not found with id: " + id);
+        }
+
+        recurringExpenseRepository.delete(recurring);
+    }
+
+    private RecurringExpenseResponse toResponse(RecurringExpense recurring) {
+        return new RecurringExpenseResponse(
+                recurring.getId(),
+                Money.fromMinorUnits(recurring.getAmountMinor(), recurring.getCurrency()),
+                recurring.getCurrency(),
+                categoryService.nameOf(recurring.getCategory().getId()),
+                recurring.getDescription(),
+                recurring.getSchedule(),
+                recurring.getStartDate(),
+                recurring.getEndDate(),
+                recurring.getNextRunDate());
+    }
+}
@@ -0,0 +1,218 @@
+package com.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.dto.SpendDistributionResponse;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.ExpenseSketchRepository;
+import com.expensetracker.repository.ExpenseSketchRow;
+import com.expensetracker.repository.InsertIfAbsent;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.util.FxRates;
+import com.expensetracker.util.Money;
+import com.expensetracker.util.SpendDistribution;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Maintains one {@link SpendDistribution} per user, category, month and
+ * currency. Expense writes update the row under a row lock, the same way
+ * budget usage is kept, and reports merge the rows for the requested months,
+ * rescaling other currencies, so percentiles never scan expenses.
+ */
+@Service
+public class SpendSketchService {
+
+    private static final String LOCK_SKETCH = """
+            SELECT id, amounts, descriptions FROM expense_sketches
+            WHERE user_id = ? AND category_id = ? AND period_start = ? AND currency = ?
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_SKETCH =
+            "UPDATE expense_sketches SET expense_count = ?, amounts = ?, descriptions = ? WHERE id = ?";
+
+    private static final InsertIfAbsent INSERT_SKETCH = new InsertIfAbsent("expense_sketches",
+            List.of("user_id", "category_id", "period_start", "currency"),
+            List.of("user_id", "category_id", "period_start", "currency", "expense_count", "amounts", "descriptions"));
+
+    private static final String PERIOD_EXPENSES = """
+            SELECT amount_minor, description FROM expenses
+            WHERE user_id = ? AND category_id = ? AND currency = ? AND expense_date BETWEEN ? AND ?
+            """;
+
+    private final ExpenseSketchRepository sketchRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final FxRateService fxRateService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SpendSketchService(
+            ExpenseSketchRepository sketchRepository,
+            UserRepository userRepository,
+            CategoryService categoryService,
+            FxRateService fxRateService,
+            EntityManager entityManager,
+            DataSource dataSource) {
+        this.sketchRepository = sketchRepository;
+        this.userRepository = userRepository;
+        this.categoryService = categoryService;
+        this.fxRateService = fxRateService;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private Long getCurrentUserId() {
+        return Long.valueOf(
+                SecurityContextHolder.getContext()
+                        .getAuthentication()
+                        .getPrincipal()
+                        .toString());
+    }
+
+    /**
+     * Per-category amount percentiles and distinct descriptions for the
+     * current user over whole months, in their home currency.
+     */
+    @Transactional(readOnly = true)
+    public List<SpendDistributionResponse> getDistribution(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        User user = userRepository.findById(getCurrentUserId()).orElseThrow();
+        FxRates rates = fxRateService.current();
+
+        Map<Integer, SpendDistribution> byCategory = new HashMap<>();
+        for (ExpenseSketchRow row : sketchRepository.findRows(user.getId(), from.atDay(1), to.atDay(1))) {
+            SpendDistribution distribution = SpendDistribution.fromBytes(row.amounts(), row.descriptions())
+                    .scaled(rates.minorUnitFactor(row.currency(), user.getHomeCurrency()));
+            byCategory.computeIfAbsent(row.categoryId(), id -> new SpendDistribution()).merge(distribution);
+        }
+
+        return byCategory.entrySet().stream()
+                .map(entry -> toResponse(
+                        categoryService.nameOf(entry.getKey()), user.getHomeCurrency(), entry.getValue()))
+                .sorted(Comparator.comparing(SpendDistributionResponse::getCategory))
+                .toList();
+    }
+
+    /**
+     * Removes and adds expenses in their sketches. Must run in the
+     * transaction that writes the expenses so the sketches commit or roll
+     * back with it; an update passes the old expense as removed and the new
+     * one as added, so both land in a single row update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(List<SketchEntry> removed, List<SketchEntry> added) {
+        // a missing sketch is built from a scan that must see these writes
+        entityManager.flush();
+        apply(jdbcTemplate, removed, added);
+    }
+
+    /**
+     * Counterpart of {@link #recordChanges} for writers that insert expenses
+     * over plain JDBC, running on the caller's JDBC transaction.
+     */
+    public void recordExpenses(JdbcTemplate jdbc, List<SketchEntry> entries) {
+        apply(jdbc, List.of(), entries);
+    }
+
+    // A missing sketch is built from a scan that already sees the caller's
+    // uncommitted writes, so their entries are not applied on top. If a
+    // concurrent writer inserts it first, its scan could not see them, and
+    // they are applied to its row under the lock.
+    private void apply(JdbcTemplate jdbc, List<SketchEntry> removed, List<SketchEntry> added) {
+        Map<SketchKey, SketchChanges> byKey = new LinkedHashMap<>();
+        removed.forEach(entry -> changesFor(byKey, entry).removed().add(entry));
+        added.forEach(entry -> changesFor(byKey, entry).added().add(entry));
+
+        byKey.forEach((key, changes) -> {
+            List<LockedSketch> locked = lock(jdbc, key);
+            if (locked.isEmpty()) {
+                SpendDistribution seeded = new SpendDistribution();
+                jdbc.query(PERIOD_EXPENSES, rs -> {
+                    seeded.add(rs.getLong(1), rs.getString(2));
+                }, key.userId(), key.categoryId(), key.currency(), key.periodStart(), endOfPeriod(key.periodStart()));
+                if (INSERT_SKETCH.execute(jdbc, key.userId(), key.categoryId(), key.periodStart(), key.currency(),
+                        seeded.count(), seeded.amountsToBytes(), seeded.descriptionsToBytes()) == 1) {
+                    return;
+                }
+                locked = lock(jdbc, key);
+            }
+
+            SpendDistribution distribution = locked.get(0).distribution();
+            changes.removed().forEach(entry -> distribution.remove(entry.amountMinor()));
+            changes.added().forEach(entry -> distribution.add(entry.amountMinor(), entry.description()));
+            jdbc.update(UPDATE_SKETCH, distribution.count(), distribution.amountsToBytes(),
+                    distribution.descriptionsToBytes(), locked.get(0).id());
+        });
+    }
+
+    private static SketchChanges changesFor(Map<SketchKey, SketchChanges> byKey, SketchEntry entry) {
+        return byKey.computeIfAbsent(new SketchKey(
+                entry.userId(), entry.categoryId(), entry.expenseDate().withDayOfMonth(1), entry.currency()),
+                key -> new SketchChanges(new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private static List<LockedSketch> lock(JdbcTemplate jdbc, SketchKey key) {
+        return jdbc.query(LOCK_SKETCH, (rs, rowNum) -> new LockedSketch(
+                rs.getLong(1), SpendDistribution.fromBytes(rs.getBytes(2), rs.getBytes(3))),
+                key.userId(), key.categoryId(), key.periodStart(), key.currency());
+    }
+
+    static SpendDistributionResponse toResponse(String category, String currency, SpendDistribution distribution) {
+        return new SpendDistributionResponse(
+                category,
+                currency,
+                distribution.count(),
+                quantile(distribution, 0.5, currency),
+                quantile(distribution, 0.9, currency),
+                quantile(distribution, 0.99, currency),
+                distribution.distinctDescriptions());
+    }
+
+    private static BigDecimal quantile(SpendDistribution distribution, double q, String currency) {
+        return distribution.count() > 0
+                ? Money.fromMinorUnits(Math.round(distribution.quantile(q)), currency)
+                : null;
+    }
+
+    private static LocalDate endOfPeriod(LocalDate period) {
+        return period.plusMonths(1).minusDays(1);
+    }
+
+    public record SketchEntry(
+            Long userId,
+            Integer categoryId,
+            LocalDate expenseDate,
+            String currency,
+            long amountMinor,
+            String description) {
+    }
+
+    private record SketchKey(Long userId, Integer categoryId, LocalDate periodStart, String currency) {
+    }
+
+    private record SketchChanges(List<SketchEntry> removed, List<SketchEntry> added) {
+    }
+
+    private record LockedSketch(long id, SpendDistribution distribution) {
+    }
+}
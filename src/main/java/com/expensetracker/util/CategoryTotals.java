@@ -0,0 +1,91 @@
+package com.expensetracker.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from category id to a running total in minor units.
+ * Adding to an existing key touches only primitive arrays, so the
+ * aggregation loop does not box or allocate; totals overflow with an
+ * ArithmeticException instead of wrapping.
+ */
+public final class CategoryTotals {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] keys;
+    private long[] totals;
+    private int size;
+
+    public CategoryTotals() {
+        this(16);
+    }
+
+    public CategoryTotals(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        keys = new int[capacity];
+        totals = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public void add(int categoryId, long minorUnits) {
+        if (categoryId == EMPTY) {
+            throw new IllegalArgumentException("Unsupported category id " + categoryId);
+        }
+        int slot = slot(categoryId);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = categoryId;
+            if (++size * 2 > keys.length) {
+                grow();
+                slot = slot(categoryId);
+            }
+        }
+        totals[slot] = Math.addExact(totals[slot], minorUnits);
+    }
+
+    public long get(int categoryId) {
+        int slot = slot(categoryId);
+        return keys[slot] == EMPTY ? 0L : totals[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Consumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], totals[i]);
+            }
+        }
+    }
+
+    private int slot(int categoryId) {
+        int mask = keys.length - 1;
+        int hash = categoryId * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != categoryId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldTotals = totals;
+        keys = new int[oldKeys.length * 2];
+        totals = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                totals[slot] = oldTotals[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(int categoryId, long minorUnits);
+    }
+}
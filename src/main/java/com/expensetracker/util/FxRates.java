@@ -0,0 +1,112 @@
+package com.expensetracker.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of exchange rates, each expressed as units of the base
+ * currency per one unit of the currency. Readers share a snapshot freely;
+ * a refresh builds a new instance and publishes it by reference swap.
+ */
+public final class FxRates {
+
+    private final String baseCurrency;
+    private final Map<String, Rate> rates;
+    private final Instant loadedAt;
+
+    private FxRates(String baseCurrency, Map<String, Rate> rates, Instant loadedAt) {
+        this.baseCurrency = baseCurrency;
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+    }
+
+    public static FxRates of(String baseCurrency, Map<String, BigDecimal> rates, Instant loadedAt) {
+        Map<String, Rate> snapshot = new HashMap<>();
+        rates.forEach((code, rate) -> {
+            Currency currency = currency(code);
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rate for " + code + " must be positive");
+            }
+            snapshot.put(currency.getCurrencyCode(), new Rate(rate, Money.scale(currency)));
+        });
+        Currency base = currency(baseCurrency);
+        snapshot.put(base.getCurrencyCode(), new Rate(BigDecimal.ONE, Money.scale(base)));
+        return new FxRates(base.getCurrencyCode(), Map.copyOf(snapshot), loadedAt);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency);
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        Map<String, BigDecimal> view = new HashMap<>();
+        rates.forEach((code, rate) -> view.put(code, rate.perUnit()));
+        return view;
+    }
+
+    /**
+     * Converts an amount in minor units of {@code from} to minor units of
+     * {@code to}, rounding half-even to the target currency's precision.
+     */
+    public long convert(long minorUnits, String from, String to) {
+        if (from.equals(to)) {
+            return minorUnits;
+        }
+        Rate source = rate(from);
+        Rate target = rate(to);
+        return BigDecimal.valueOf(minorUnits, source.scale())
+                .multiply(source.perUnit())
+                .divide(target.perUnit(), target.scale(), RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /**
+     * Multiplier taking minor units of {@code from} to minor units of
+     * {@code to}, for scaling values that cannot go through {@link #convert}
+     * one amount at a time.
+     */
+    public double minorUnitFactor(String from, String to) {
+        if (from.equals(to)) {
+            return 1;
+        }
+        Rate source = rate(from);
+        Rate target = rate(to);
+        return source.perUnit()
+                .divide(target.perUnit(), MathContext.DECIMAL64)
+                .scaleByPowerOfTen(target.scale() - source.scale())
+                .doubleValue();
+    }
+
+    private Rate rate(String currency) {
+        Rate rate = rates.get(currency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No exchange rate for currency: " + currency);
+        }
+        return rate;
+    }
+
+    private static Currency currency(String code) {
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code);
+        }
+    }
+
+    private record Rate(BigDecimal perUnit, int scale) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.expensetracker.util;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+public final class Money {
+
+    private Money() {
+    }
+
+    public static int scale(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        BigDecimal scaled = amount.movePointRight(scale(currency)).stripTrailingZeros();
+        if (scaled.scale() > 0) {
+            throw new IllegalArgumentException(
+                    "Amount " + amount.toPlainString() + " has more decimal places than "
+                            + currency.getCurrencyCode() + " allows");
+        }
+        try {
+            return scaled.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is out of range");
+        }
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, scale(currency));
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits, String currencyCode) {
+        return fromMinorUnits(minorUnits, Currency.getInstance(currencyCode));
+    }
+}
@@ -0,0 +1,168 @@
+package com.expensetracker.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over amounts in minor units, bucketing values on
+ * a logarithmic scale (the DDSketch scheme). Any quantile it returns is
+ * within {@link #RELATIVE_ACCURACY} of the exact value at that rank, however
+ * many values are added, and merging two sketches gives exactly the sketch of
+ * the combined values. Because buckets only hold counts, values can also be
+ * removed again, which lets expense updates and deletes keep it exact.
+ *
+ * <p>Amounts below one minor unit, including refunds, are counted as zero.
+ */
+public final class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte VERSION = 1;
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(long value) {
+        add((double) value, 1);
+    }
+
+    /**
+     * Removes one occurrence of {@code value}. Removing a value that was never
+     * added is ignored.
+     */
+    public void remove(long value) {
+        if (value < 1) {
+            if (zeroCount > 0) {
+                zeroCount--;
+                count--;
+            }
+            return;
+        }
+        int index = index(value);
+        Long current = buckets.get(index);
+        if (current == null) {
+            return;
+        }
+        if (current == 1) {
+            buckets.remove(index);
+        } else {
+            buckets.put(index, current - 1);
+        }
+        count--;
+    }
+
+    public void merge(QuantileSketch other) {
+        other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * Copy of this sketch with every value multiplied by {@code factor}, used
+     * to bring sketches kept in different currencies onto one scale. Each
+     * bucket moves as a whole, so the result is accurate to about twice
+     * {@link #RELATIVE_ACCURACY}.
+     */
+    public QuantileSketch scaled(double factor) {
+        if (!(factor > 0)) {
+            throw new IllegalArgumentException("Scale factor must be positive");
+        }
+        QuantileSketch copy = new QuantileSketch();
+        copy.zeroCount = zeroCount;
+        copy.count = zeroCount;
+        buckets.forEach((index, bucketCount) -> copy.add(value(index) * factor, bucketCount));
+        return copy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Value at rank {@code floor(q * (count - 1))} of the added values, or
+     * NaN when the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return value(bucket.getKey());
+            }
+        }
+        return value(buckets.lastKey());
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + buckets.size() * 3);
+        out.write(VERSION);
+        SketchEncoding.writeVarLong(out, zeroCount);
+        SketchEncoding.writeVarLong(out, buckets.size());
+        long previous = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            // indexes are ascending, so all but the first delta are positive
+            SketchEncoding.writeVarLong(out, SketchEncoding.zigZag(bucket.getKey() - previous));
+            SketchEncoding.writeVarLong(out, bucket.getValue());
+            previous = bucket.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        QuantileSketch sketch = new QuantileSketch();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.get() != VERSION) {
+                throw new IllegalArgumentException("Unsupported quantile sketch version");
+            }
+            sketch.zeroCount = SketchEncoding.readVarLong(in);
+            sketch.count = sketch.zeroCount;
+            long size = SketchEncoding.readVarLong(in);
+            long index = 0;
+            for (long i = 0; i < size; i++) {
+                index += SketchEncoding.unZigZag(SketchEncoding.readVarLong(in));
+                long bucketCount = SketchEncoding.readVarLong(in);
+                sketch.buckets.put(Math.toIntExact(index), bucketCount);
+                sketch.count += bucketCount;
+            }
+        } catch (BufferUnderflowException | ArithmeticException e) {
+            throw new IllegalArgumentException("Malformed quantile sketch", e);
+        }
+        return sketch;
+    }
+
+    private void add(double value, long occurrences) {
+        // rounds to zero minor units
+        if (value < 0.5) {
+            zeroCount += occurrences;
+        } else {
+            buckets.merge(index(value), occurrences, Long::sum);
+        }
+        count += occurrences;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // midpoint of (gamma^(i-1), gamma^i] in relative terms
+    private static double value(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.expensetracker.util;
+
+import java.util.Locale;
+
+/**
+ * Amount quantiles and distinct descriptions of a set of expenses, kept as a
+ * pair of mergeable sketches so partial distributions (per user, category,
+ * month or currency) combine into larger ones without revisiting expenses.
+ */
+public final class SpendDistribution {
+
+    private final QuantileSketch amounts;
+    private final DistinctCountSketch descriptions;
+
+    public SpendDistribution() {
+        this(new QuantileSketch(), new DistinctCountSketch());
+    }
+
+    private SpendDistribution(QuantileSketch amounts, DistinctCountSketch descriptions) {
+        this.amounts = amounts;
+        this.descriptions = descriptions;
+    }
+
+    public static SpendDistribution fromBytes(byte[] amounts, byte[] descriptions) {
+        return new SpendDistribution(QuantileSketch.fromBytes(amounts), DistinctCountSketch.fromBytes(descriptions));
+    }
+
+    public void add(long amountMinor, String description) {
+        amounts.add(amountMinor);
+        if (description != null && !description.isBlank()) {
+            descriptions.add(description.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // Descriptions stay counted; distinct counts cannot forget values.
+    public void remove(long amountMinor) {
+        amounts.remove(amountMinor);
+    }
+
+    public void merge(SpendDistribution other) {
+        amounts.merge(other.amounts);
+        descriptions.merge(other.descriptions);
+    }
+
+    /**
+     * Distribution with amounts multiplied by {@code factor}, typically
+     * {@link FxRates#minorUnitFactor}. Returns this instance when there is
+     * nothing to scale.
+     */
+    public SpendDistribution scaled(double factor) {
+        if (factor == 1) {
+            return this;
+        }
+        DistinctCountSketch copy = new DistinctCountSketch();
+        copy.merge(descriptions);
+        return new SpendDistribution(amounts.scaled(factor), copy);
+    }
+
+    public long count() {
+        return amounts.count();
+    }
+
+    public double quantile(double q) {
+        return amounts.quantile(q);
+    }
+
+    public long distinctDescriptions() {
+        return descriptions.estimate();
+    }
+
+    public byte[] amountsToBytes() {
+        return amounts.toBytes();
+    }
+
+    public byte[] descriptionsToBytes() {
+        return descriptions.toBytes();
+    }
+}
@@ -0,0 +1,109 @@
+package com.expensetracker.util;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Constant-space running statistics of one user's spending in one category,
+ * used to flag unusual expenses as they are written. Amounts are tracked as
+ * an exponentially weighted mean and variance of their logarithm, so an
+ * outlier is measured in standard deviations of relative size, which suits
+ * the long-tailed way expense amounts are distributed. Frequency is tracked
+ * as two exponentially decayed event rates, a fast one over about a day and
+ * a slow baseline over about a month.
+ *
+ * <p>Not thread-safe; callers serialize access per instance.
+ */
+public final class SpendingStats {
+
+    public enum Anomaly {
+        AMOUNT_OUTLIER,
+        FREQUENCY_SPIKE
+    }
+
+    /**
+     * @param alpha           weight of each new amount in the running mean and variance
+     * @param amountThreshold standard deviations above the mean that flag an amount
+     * @param minStdDev       floor for the log-amount deviation, so steady spending
+     *                        does not make every small change an outlier
+     * @param minSamples      expenses seen before anything is flagged
+     * @param spikeFactor     how many times the baseline rate the recent rate must reach
+     * @param spikeMinEvents  recent events needed before a spike is flagged
+     */
+    public record Settings(
+            double alpha,
+            double amountThreshold,
+            double minStdDev,
+            int minSamples,
+            double spikeFactor,
+            double spikeMinEvents) {
+    }
+
+    private static final double FAST_WINDOW_MILLIS = 86_400_000d;
+    private static final double SLOW_WINDOW_MILLIS = 30 * FAST_WINDOW_MILLIS;
+
+    private long count;
+    private double mean;
+    private double variance;
+    // decayed event counts; divided by their window they are rates
+    private double recentEvents;
+    private double baselineEvents;
+    private long firstSeenMillis;
+    private long lastSeenMillis;
+
+    /**
+     * Checks an expense against the statistics so far, then folds it in.
+     */
+    public Set<Anomaly> observe(long amountMinor, long timestampMillis, Settings settings) {
+        Set<Anomaly> anomalies = EnumSet.noneOf(Anomaly.class);
+        double value = Math.log(Math.max(amountMinor, 1));
+
+        if (count == 0) {
+            mean = value;
+            firstSeenMillis = timestampMillis;
+        } else {
+            double deviation = Math.max(Math.sqrt(variance), settings.minStdDev());
+            if (count >= settings.minSamples() && value - mean > settings.amountThreshold() * deviation) {
+                anomalies.add(Anomaly.AMOUNT_OUTLIER);
+            }
+
+            // plain running averages until alpha takes over, so early
+            // expenses are not judged against a half-built variance
+            double weight = Math.max(settings.alpha(), 1.0 / (count + 1));
+            double diff = value - mean;
+            double increment = weight * diff;
+            mean += increment;
+            variance = (1 - weight) * (variance + diff * increment);
+
+            double elapsed = Math.max(0, timestampMillis - lastSeenMillis);
+            recentEvents *= Math.exp(-elapsed / FAST_WINDOW_MILLIS);
+            baselineEvents *= Math.exp(-elapsed / SLOW_WINDOW_MILLIS);
+        }
+        recentEvents++;
+        baselineEvents++;
+        count++;
+        lastSeenMillis = Math.max(lastSeenMillis, timestampMillis);
+
+        if (count > settings.minSamples() && isSpike(timestampMillis, settings)) {
+            anomalies.add(Anomaly.FREQUENCY_SPIKE);
+        }
+        return anomalies;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    private boolean isSpike(long timestampMillis, Settings settings) {
+        double history = timestampMillis - firstSeenMillis;
+        if (history < 2 * FAST_WINDOW_MILLIS || recentEvents < settings.spikeMinEvents()) {
+            return false;
+        }
+        // a young baseline has not accumulated a full window yet, so scale
+        // it up by the fraction of the window it has seen
+        double coverage = 1 - Math.exp(-history / SLOW_WINDOW_MILLIS);
+        double baselineRate = baselineEvents / SLOW_WINDOW_MILLIS / coverage;
+        double recentRate = recentEvents / FAST_WINDOW_MILLIS;
+        return recentRate > settings.spikeFactor() * baselineRate;
+    }
+}
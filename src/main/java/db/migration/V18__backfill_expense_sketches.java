@@ -0,0 +1,216 @@
+package db.migration;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Builds the spend sketches of months that already had expenses when
+ * expense_sketches was added. Writes create a month's sketch only when they
+ * touch it, so a month nobody has written to since would be missing from
+ * distributions. Expenses are streamed in key order, so one sketch is held
+ * at a time, and months whose sketch has been created since are left as
+ * they are.
+ *
+ * <p>The statements and the version 1 sketch encoding are copied here
+ * rather than shared with the application, so later changes to either
+ * cannot change what this migration writes on a fresh database.
+ */
+public class V18__backfill_expense_sketches extends BaseJavaMigration {
+
+    private static final String EXPENSES = """
+            SELECT user_id, category_id, currency, expense_date, amount_minor, description
+            FROM expenses
+            ORDER BY user_id, category_id, currency, expense_date
+            """;
+
+    private static final String INSERT_SKETCH = """
+            INSERT INTO expense_sketches
+                (user_id, category_id, period_start, currency, expense_count, amounts, descriptions)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, category_id, period_start, currency) DO NOTHING
+            """;
+
+    // H2, in the tests, has no ON CONFLICT; the key is bound twice
+    private static final String MERGE_SKETCH = """
+            MERGE INTO expense_sketches t USING (VALUES (0)) s
+            ON t.user_id = ? AND t.category_id = ? AND t.period_start = ? AND t.currency = ?
+            WHEN NOT MATCHED THEN INSERT
+                (user_id, category_id, period_start, currency, expense_count, amounts, descriptions)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        jdbc.setFetchSize(1000);
+        boolean postgres = "PostgreSQL".equals(jdbc.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+
+        Backfill backfill = new Backfill(jdbc, postgres);
+        jdbc.query(EXPENSES, backfill::add);
+        backfill.finish();
+    }
+
+    private static final class Backfill {
+
+        private final JdbcTemplate jdbc;
+        private final boolean postgres;
+        private SketchKey key;
+        private Amounts amounts;
+        private Descriptions descriptions;
+
+        Backfill(JdbcTemplate jdbc, boolean postgres) {
+            this.jdbc = jdbc;
+            this.postgres = postgres;
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            SketchKey next = new SketchKey(
+                    rs.getLong(1), rs.getInt(2), rs.getString(3),
+                    rs.getObject(4, LocalDate.class).withDayOfMonth(1));
+            if (!next.equals(key)) {
+                finish();
+                key = next;
+                amounts = new Amounts();
+                descriptions = new Descriptions();
+            }
+            amounts.add(rs.getLong(5));
+            String description = rs.getString(6);
+            if (description != null && !description.isBlank()) {
+                descriptions.add(description.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        void finish() {
+            if (key == null) {
+                return;
+            }
+            Object[] row = {key.userId(), key.categoryId(), key.periodStart(), key.currency(),
+                    amounts.count, amounts.toBytes(), descriptions.toBytes()};
+            if (postgres) {
+                jdbc.update(INSERT_SKETCH, row);
+            } else {
+                jdbc.update(MERGE_SKETCH, key.userId(), key.categoryId(), key.periodStart(), key.currency(),
+                        row[0], row[1], row[2], row[3], row[4], row[5], row[6]);
+            }
+        }
+    }
+
+    private record SketchKey(long userId, int categoryId, String currency, LocalDate periodStart) {
+    }
+
+    // QuantileSketch, version 1: log-scale buckets at 1% relative accuracy.
+    private static final class Amounts {
+
+        private static final double GAMMA = (1 + 0.01) / (1 - 0.01);
+        private static final double LOG_GAMMA = Math.log(GAMMA);
+
+        private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+        private long zeroCount;
+        private long count;
+
+        void add(long amountMinor) {
+            double value = amountMinor;
+            if (value < 0.5) {
+                zeroCount++;
+            } else {
+                buckets.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+            }
+            count++;
+        }
+
+        byte[] toBytes() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8 + buckets.size() * 3);
+            out.write(1);
+            writeVarLong(out, zeroCount);
+            writeVarLong(out, buckets.size());
+            long previous = 0;
+            for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+                long delta = bucket.getKey() - previous;
+                writeVarLong(out, (delta << 1) ^ (delta >> 63));
+                writeVarLong(out, bucket.getValue());
+                previous = bucket.getKey();
+            }
+            return out.toByteArray();
+        }
+    }
+
+    // DistinctCountSketch, version 1: HyperLogLog with 2^12 registers.
+    private static final class Descriptions {
+
+        private static final int PRECISION = 12;
+        private static final int REGISTERS = 1 << PRECISION;
+
+        private final byte[] registers = new byte[REGISTERS];
+
+        void add(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb93fe53a87c3L;
+            hash ^= hash >>> 33;
+
+            int index = (int) (hash >>> (64 - PRECISION));
+            int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+        }
+
+        byte[] toBytes() {
+            int used = 0;
+            for (byte register : registers) {
+                if (register != 0) {
+                    used++;
+                }
+            }
+
+            if (used * 3 >= REGISTERS) {
+                byte[] bytes = new byte[2 + REGISTERS];
+                bytes[0] = 1;
+                bytes[1] = 1;
+                System.arraycopy(registers, 0, bytes, 2, REGISTERS);
+                return bytes;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4 + used * 3);
+            out.write(1);
+            out.write(0);
+            writeVarLong(out, used);
+            int previous = 0;
+            for (int i = 0; i < REGISTERS; i++) {
+                if (registers[i] != 0) {
+                    writeVarLong(out, i - previous);
+                    out.write(registers[i]);
+                    previous = i;
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,15 @@
+-- Mergeable summaries of each user's expenses per category, month and
+-- currency: a quantile sketch of amounts and a HyperLogLog of descriptions.
+-- Maintained by the expense write paths so distribution queries only merge
+-- these rows and never read expenses.
+CREATE TABLE expense_sketches (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    category_id INTEGER NOT NULL REFERENCES categories (id),
+    period_start DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    amounts BYTEA NOT NULL,
+    descriptions BYTEA NOT NULL,
+    CONSTRAINT uk_expense_sketches_key UNIQUE (user_id, category_id, period_start, currency)
+);
@@ -0,0 +1,6 @@
+-- Expense and upload ids move from identity columns to sequences so
+-- Hibernate can allocate them in blocks of 50 (matching allocationSize on
+-- the entities) and batch the inserts. Moving the existing tables onto the
+-- sequences is vendor-specific; see V12 under db/vendor.
+CREATE SEQUENCE expenses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE file_uploads_seq START WITH 1 INCREMENT BY 50;
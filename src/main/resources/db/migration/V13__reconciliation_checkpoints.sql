@@ -0,0 +1,7 @@
+-- Databases baselined from ddl-auto may already have this table.
+CREATE TABLE IF NOT EXISTS reconciliation_checkpoints (
+    name VARCHAR(255) PRIMARY KEY,
+    last_file_id BIGINT NOT NULL,
+    last_stored_filename VARCHAR(255),
+    updated_at TIMESTAMP(6) NOT NULL
+);
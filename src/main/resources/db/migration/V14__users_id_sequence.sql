@@ -0,0 +1,4 @@
+-- User ids move to a sequence as well: Hibernate only puts an entity into
+-- the second-level cache on insert when its id is known before the insert,
+-- which an identity column prevents. See V15 under db/vendor.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
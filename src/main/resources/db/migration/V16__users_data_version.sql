@@ -0,0 +1,3 @@
+-- Incremented by every write to a user's expenses; conditional GETs build
+-- their ETag from it. Not mapped on the User entity.
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- The orphan scan now walks the upload directory one shard subdirectory at
+-- a time, so its cursor is a shard name instead of a filename.
+ALTER TABLE reconciliation_checkpoints ADD COLUMN last_shard VARCHAR(2);
+ALTER TABLE reconciliation_checkpoints DROP COLUMN last_stored_filename;
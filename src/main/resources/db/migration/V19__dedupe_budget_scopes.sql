@@ -0,0 +1,16 @@
+-- Concurrent POST /budgets could create two budgets for the same scope.
+-- The oldest is kept, so the unique index added next can be built.
+DELETE FROM budget_usage WHERE budget_id IN (
+    SELECT b.id FROM budgets b
+    WHERE EXISTS (
+        SELECT 1 FROM budgets o
+        WHERE o.user_id = b.user_id
+          AND COALESCE(o.category_id, 0) = COALESCE(b.category_id, 0)
+          AND o.id < b.id));
+
+DELETE FROM budgets b
+WHERE EXISTS (
+    SELECT 1 FROM budgets o
+    WHERE o.user_id = b.user_id
+      AND COALESCE(o.category_id, 0) = COALESCE(b.category_id, 0)
+      AND o.id < b.id);
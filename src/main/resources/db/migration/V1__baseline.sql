@@ -0,0 +1,30 @@
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE expenses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount DOUBLE PRECISION NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    expense_date DATE NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE file_uploads (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    original_filename VARCHAR(255) NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_path VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    expense_id BIGINT REFERENCES expenses (id),
+    uploaded_at TIMESTAMP(6) NOT NULL
+);
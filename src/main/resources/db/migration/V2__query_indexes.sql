@@ -0,0 +1,13 @@
+-- GET /expenses without filters and with a date range, sorted by expense_date
+CREATE INDEX idx_expenses_user_date ON expenses (user_id, expense_date DESC, id);
+
+-- GET /expenses filtered by category, optionally with a date range
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category, expense_date);
+
+-- GET /files keyset pages (user_id, id < cursor) ordered by id
+CREATE INDEX idx_file_uploads_user ON file_uploads (user_id, id);
+
+CREATE INDEX idx_file_uploads_expense ON file_uploads (expense_id);
+
+-- Orphan reconciliation looks files up by stored name
+CREATE INDEX idx_file_uploads_stored_filename ON file_uploads (stored_filename);
@@ -0,0 +1,30 @@
+CREATE TABLE categories (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, normalized_name)
+);
+
+-- One dictionary entry per user and case-insensitive, trimmed name. The
+-- display name keeps the first spelling in sort order, e.g. "Food" over "food ".
+INSERT INTO categories (user_id, name, normalized_name)
+SELECT user_id, MIN(TRIM(category)), LOWER(TRIM(category))
+FROM expenses
+GROUP BY user_id, LOWER(TRIM(category));
+
+ALTER TABLE expenses ADD COLUMN category_id INTEGER;
+
+UPDATE expenses SET category_id = (
+    SELECT c.id
+    FROM categories c
+    WHERE c.user_id = expenses.user_id
+      AND c.normalized_name = LOWER(TRIM(expenses.category))
+);
+
+ALTER TABLE expenses ALTER COLUMN category_id SET NOT NULL;
+ALTER TABLE expenses ADD CONSTRAINT fk_expenses_category FOREIGN KEY (category_id) REFERENCES categories (id);
+
+DROP INDEX idx_expenses_user_category_date;
+ALTER TABLE expenses DROP COLUMN category;
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category_id, expense_date);
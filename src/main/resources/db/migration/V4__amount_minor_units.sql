@@ -0,0 +1,10 @@
+-- Amounts were recorded without a currency and shown as dollars, so existing
+-- rows become USD cents.
+ALTER TABLE expenses ADD COLUMN amount_minor BIGINT;
+ALTER TABLE expenses ADD COLUMN currency VARCHAR(3);
+
+UPDATE expenses SET amount_minor = CAST(ROUND(amount * 100) AS BIGINT), currency = 'USD';
+
+ALTER TABLE expenses ALTER COLUMN amount_minor SET NOT NULL;
+ALTER TABLE expenses ALTER COLUMN currency SET NOT NULL;
+ALTER TABLE expenses DROP COLUMN amount;
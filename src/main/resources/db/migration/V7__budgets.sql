@@ -0,0 +1,21 @@
+CREATE TABLE budgets (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    category_id INTEGER REFERENCES categories (id),
+    limit_minor BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_budgets_user ON budgets (user_id, category_id);
+
+-- Running total per budget and calendar month, maintained by the expense
+-- write path so threshold checks never have to re-aggregate expenses.
+CREATE TABLE budget_usage (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    budget_id BIGINT NOT NULL REFERENCES budgets (id),
+    period_start DATE NOT NULL,
+    spent_minor BIGINT NOT NULL,
+    alert_level INTEGER NOT NULL,
+    CONSTRAINT uk_budget_usage_period UNIQUE (budget_id, period_start)
+);
@@ -0,0 +1,24 @@
+CREATE TABLE recurring_expenses (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    category_id INTEGER NOT NULL REFERENCES categories (id),
+    amount_minor BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    description VARCHAR(255),
+    schedule VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    next_run_date DATE,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_recurring_expenses_user ON recurring_expenses (user_id, id);
+CREATE INDEX idx_recurring_expenses_next_run ON recurring_expenses (next_run_date, id);
+
+-- Each materialized occurrence is keyed by its template and date, so a
+-- generator run that is retried after a crash cannot insert it twice.
+ALTER TABLE expenses ADD COLUMN recurring_expense_id BIGINT;
+ALTER TABLE expenses ADD COLUMN occurrence_date DATE;
+ALTER TABLE expenses ADD CONSTRAINT fk_expenses_recurring
+    FOREIGN KEY (recurring_expense_id) REFERENCES recurring_expenses (id) ON DELETE SET NULL;
+ALTER TABLE expenses ADD CONSTRAINT uk_expenses_occurrence UNIQUE (recurring_expense_id, occurrence_date);
@@ -0,0 +1,8 @@
+-- Units of the configured base currency per one unit of each currency.
+CREATE TABLE fx_rates (
+    currency VARCHAR(3) PRIMARY KEY,
+    rate NUMERIC(24, 12) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE users ADD COLUMN home_currency VARCHAR(3) DEFAULT 'USD' NOT NULL;
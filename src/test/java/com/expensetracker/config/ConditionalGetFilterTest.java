@@ -0,0 +1,200 @@
+package com.expensetracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.DataVersionService;
+import com.expensetracker.service.FxRateService;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Outside the test transaction, so each write commits before the next request.
+@DataJpaTest
+@Import(DataVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConditionalGetFilterTest {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ConditionalGetFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = save();
+        filter = filter(dataVersionService);
+        authenticate(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchingETagIsNotModifiedWithoutReachingTheController() throws Exception {
+        Result first = get(filter, "/expenses", null);
+        assertThat(first.reachedController()).isTrue();
+        assertThat(first.etag()).startsWith("W/\"" + user.getId() + ".");
+
+        Result second = get(filter, "/expenses", first.etag());
+
+        assertThat(second.status()).isEqualTo(304);
+        assertThat(second.reachedController()).isFalse();
+        assertThat(second.etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void writeChangesTheETag() throws Exception {
+        String etag = get(filter, "/analytics/total", null).etag();
+
+        increment(user);
+        Result after = get(filter, "/analytics/total", etag);
+
+        assertThat(after.status()).isEqualTo(200);
+        assertThat(after.reachedController()).isTrue();
+        assertThat(after.etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void writeIsSeenByEveryInstance() throws Exception {
+        ConditionalGetFilter otherInstance = filter(new DataVersionService(dataSource));
+        String etag = get(otherInstance, "/expenses", null).etag();
+
+        increment(user);
+
+        assertThat(get(otherInstance, "/expenses", etag).reachedController()).isTrue();
+        assertThat(get(filter, "/expenses", etag).reachedController()).isTrue();
+    }
+
+    @Test
+    void otherUsersWritesDoNotChangeTheETag() throws Exception {
+        String etag = get(filter, "/expenses/12", null).etag();
+
+        increment(save());
+
+        assertThat(get(filter, "/expenses/12", etag).status()).isEqualTo(304);
+    }
+
+    @Test
+    void usersNeverShareAnETag() throws Exception {
+        String etag = get(filter, "/expenses", null).etag();
+
+        authenticate(save());
+
+        assertThat(get(filter, "/expenses", etag).reachedController()).isTrue();
+    }
+
+    @Test
+    void readTransactionEndsBeforeTheBodyIsWritten() throws Exception {
+        List<Boolean> active = new ArrayList<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/expenses");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                active.add(TransactionSynchronizationManager.isActualTransactionActive());
+                new ConditionalGetBodyAdvice().beforeBodyWrite("body", null, null, null,
+                        new ServletServerHttpRequest(req), new ServletServerHttpResponse(res));
+                active.add(TransactionSynchronizationManager.isActualTransactionActive());
+            }
+        });
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(active).containsExactly(true, false);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotNull();
+    }
+
+    @Test
+    void streamsAndOtherEndpointsAreLeftAlone() throws Exception {
+        assertThat(get(filter, "/expenses/stream", null).etag()).isNull();
+        assertThat(get(filter, "/budgets/status", null).etag()).isNull();
+        assertThat(get(filter, "/analytics/platform/categories", null).etag()).isNull();
+    }
+
+    private ConditionalGetFilter filter(DataVersionService versions) {
+        // only the in-memory rate snapshot is read
+        return new ConditionalGetFilter(versions,
+                new FxRateService(null, mock(PlatformTransactionManager.class), "USD", ""),
+                transactionManager);
+    }
+
+    private void increment(User owner) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                dataVersionService.increment(owner.getId()));
+    }
+
+    private Result get(ConditionalGetFilter target, String path, String ifNoneMatch)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        target.doFilter(request, response, chain);
+        return new Result(response.getStatus(), response.getHeader(HttpHeaders.ETAG), chain.getRequest() != null);
+    }
+
+    private User save() {
+        User saved = new User();
+        saved.setName("Versioned");
+        saved.setEmail(UUID.randomUUID() + "@example.com");
+        saved.setPassword("secret");
+        saved.setRole(Role.USER);
+        saved.setHomeCurrency("USD");
+        return userRepository.save(saved);
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getId().toString(), null, List.of()));
+    }
+
+    private record Result(int status, String etag, boolean reachedController) {
+    }
+}
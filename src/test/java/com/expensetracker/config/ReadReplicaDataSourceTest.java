@@ -0,0 +1,149 @@
+package com.expensetracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class ReadReplicaDataSourceTest {
+
+    private static final String WHICH = "SELECT name FROM which_database";
+
+    private HikariDataSource primary;
+    private HikariDataSource replicaA;
+    private HikariDataSource replicaB;
+    private ReadReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA, replicaB),
+                ReadReplicaDataSource.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(read(true));
+        }
+
+        assertThat(reads).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkGoToPrimary() {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA),
+                ReadReplicaDataSource.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+        assertThat(read(false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(dataSource).queryForObject(WHICH, String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void writerReadsFromPrimaryWithinWindow() {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA),
+                ReadReplicaDataSource.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+        authenticate("7");
+        write();
+        assertThat(read(true)).isEqualTo("primary");
+
+        authenticate("8");
+        assertThat(read(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPin() {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA),
+                ReadReplicaDataSource.Selection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+        authenticate("7");
+        transactions(false).executeWithoutResult(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE which_database SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(read(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    void zeroWindowNeverPins() {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA),
+                ReadReplicaDataSource.Selection.ROUND_ROBIN, Duration.ZERO);
+
+        authenticate("7");
+        write();
+
+        assertThat(read(true)).isEqualTo("replica-a");
+    }
+
+    @Test
+    void leastBusyAvoidsReplicaWithConnectionsInUse() throws SQLException {
+        dataSource = new ReadReplicaDataSource(primary, List.of(replicaA, replicaB),
+                ReadReplicaDataSource.Selection.LEAST_BUSY, Duration.ofMinutes(1));
+
+        try (Connection busy = replicaA.getConnection()) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(read(true)).isEqualTo("replica-b");
+            }
+        }
+    }
+
+    private String read(boolean readOnly) {
+        return transactions(readOnly).execute(status -> new JdbcTemplate(dataSource).queryForObject(WHICH, String.class));
+    }
+
+    private void write() {
+        transactions(false).executeWithoutResult(status ->
+                new JdbcTemplate(dataSource).update("UPDATE which_database SET name = name"));
+    }
+
+    private TransactionTemplate transactions(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static void authenticate(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    // Each database is a separate in-memory H2 instance that names itself.
+    private static HikariDataSource database(String name) throws SQLException {
+        HikariDataSource database = new HikariDataSource();
+        database.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        database.setPoolName(name);
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE which_database (name VARCHAR(20))");
+            statement.execute("INSERT INTO which_database VALUES ('" + name + "')");
+        }
+        return database;
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensetracker.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+class ExpenseResponseSerializerTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final JsonMapper reflectiveMapper = JsonMapper.builder().disable(MapperFeature.USE_ANNOTATIONS).build();
+
+    // compared as trees, since property order is not part of the contract
+    @Test
+    void writesTheSameJsonAsBeanSerialization() {
+        List<ExpenseResponse> responses = List.of(
+                new ExpenseResponse(1L, new BigDecimal("12.50"), "USD", "Food", "Lunch \"team\"", LocalDate.of(2026, 3, 1)),
+                new ExpenseResponse(2L, new BigDecimal("1000"), "JPY", "Travel", null, LocalDate.of(2026, 2, 28),
+                        List.of("AMOUNT_OUTLIER", "FREQUENCY_SPIKE")));
+
+        for (ExpenseResponse response : responses) {
+            assertThat(jsonMapper.readTree(jsonMapper.writeValueAsString(response)))
+                    .isEqualTo(jsonMapper.readTree(reflectiveMapper.writeValueAsString(response)));
+        }
+    }
+
+    @Test
+    void pageEnvelopeKeepsOnlyPagingFields() {
+        ExpenseResponse expense = new ExpenseResponse(
+                1L, new BigDecimal("12.50"), "USD", "Food", "Lunch", LocalDate.of(2026, 3, 1));
+        ExpensePageResponse page = ExpensePageResponse.of(new PageImpl<>(List.of(expense), PageRequest.of(2, 1), 7));
+
+        JsonNode json = jsonMapper.readTree(jsonMapper.writeValueAsString(page));
+
+        assertThat(json.size()).isEqualTo(2);
+        assertThat(json.get("content").size()).isEqualTo(1);
+        assertThat(json.get("content").get(0).get("amount").decimalValue()).isEqualByComparingTo("12.50");
+        assertThat(json.get("page").get("size").asInt()).isEqualTo(1);
+        assertThat(json.get("page").get("number").asInt()).isEqualTo(2);
+        assertThat(json.get("page").get("totalElements").asLong()).isEqualTo(7);
+        assertThat(json.get("page").get("totalPages").asInt()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,33 @@
+package com.expensetracker.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    static void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    static List<String> drain() {
+        synchronized (statements) {
+            List<String> copy = new ArrayList<>(statements);
+            statements.clear();
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.expensetracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+
+// The term-match fallback H2 gets in place of PostgreSQL full-text search.
+@DataJpaTest
+class ExpenseSearchTest {
+
+    private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2099, 12, 31);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category food;
+    private Category travel;
+
+    @BeforeEach
+    void setUp() {
+        user = user();
+        food = categoryRepository.save(new Category(user, "Food", "food"));
+        travel = categoryRepository.save(new Category(user, "Travel", "travel"));
+    }
+
+    @Test
+    void matchesEveryTermNewestFirstAndCountsAllMatches() {
+        Expense older = expense(user, food, "Coffee beans", LocalDate.of(2026, 3, 1));
+        Expense newer = expense(user, food, "beans for the coffee machine", LocalDate.of(2026, 3, 2));
+        expense(user, food, "coffee", LocalDate.of(2026, 3, 3));
+        expense(user, food, null, LocalDate.of(2026, 3, 3));
+
+        Page<Long> first = expenseRepository.searchIds(user.getId(), "coffee BEANS", 0, FROM, TO,
+                PageRequest.of(0, 1));
+        Page<Long> second = expenseRepository.searchIds(user.getId(), "coffee BEANS", 0, FROM, TO,
+                PageRequest.of(1, 1));
+
+        assertThat(first.getContent()).containsExactly(newer.getId());
+        assertThat(second.getContent()).containsExactly(older.getId());
+        assertThat(first.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void filtersByOwnerCategoryAndDateInBothQueries() {
+        Expense match = expense(user, food, "train coffee", LocalDate.of(2026, 3, 2));
+        expense(user, travel, "coffee on the train", LocalDate.of(2026, 3, 2));
+        expense(user, food, "coffee last year", LocalDate.of(2025, 3, 2));
+        User other = user();
+        expense(other, categoryRepository.save(new Category(other, "Food", "food")),
+                "coffee", LocalDate.of(2026, 3, 2));
+
+        Page<Long> page = expenseRepository.searchIds(user.getId(), "coffee", food.getId(),
+                LocalDate.of(2026, 1, 1), TO, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(match.getId());
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void excludesNegatedTermsAndTakesWildcardsLiterally() {
+        Expense beans = expense(user, food, "coffee beans", LocalDate.of(2026, 3, 2));
+        expense(user, food, "coffee cake", LocalDate.of(2026, 3, 2));
+        Expense percent = expense(user, food, "10% off", LocalDate.of(2026, 3, 2));
+        expense(user, food, "100 off", LocalDate.of(2026, 3, 2));
+
+        assertThat(expenseRepository.searchIds(user.getId(), "coffee -cake", 0, FROM, TO,
+                PageRequest.of(0, 10)).getContent()).containsExactly(beans.getId());
+        assertThat(expenseRepository.searchIds(user.getId(), "\"10%\"", 0, FROM, TO,
+                PageRequest.of(0, 10)).getContent()).containsExactly(percent.getId());
+    }
+
+    private User user() {
+        User saved = new User();
+        saved.setName("Searcher");
+        saved.setEmail(UUID.randomUUID() + "@example.com");
+        saved.setPassword("secret");
+        saved.setRole(Role.USER);
+        saved.setHomeCurrency("USD");
+        return userRepository.save(saved);
+    }
+
+    private Expense expense(User owner, Category category, String description, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setAmountMinor(500);
+        expense.setCurrency("USD");
+        expense.setCategory(category);
+        expense.setDescription(description);
+        expense.setExpenseDate(date);
+        expense.setUser(owner);
+        return expenseRepository.save(expense);
+    }
+}
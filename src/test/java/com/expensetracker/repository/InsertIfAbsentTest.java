@@ -0,0 +1,52 @@
+package com.expensetracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+
+@DataJpaTest
+class InsertIfAbsentTest {
+
+    private static final InsertIfAbsent INSERT = new InsertIfAbsent(
+            "categories", List.of("user_id", "normalized_name"), List.of("user_id", "name", "normalized_name"));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void insertsOnceAndLeavesTheTransactionUsable() {
+        User user = new User();
+        user.setName("Inserter");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.saveAndFlush(user);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        assertThat(INSERT.execute(jdbc, user.getId(), "Food", "food")).isEqualTo(1);
+        assertThat(INSERT.execute(jdbc, user.getId(), "FOOD", "food")).isZero();
+
+        assertThat(categoryRepository.findByUserIdAndNormalizedName(user.getId(), "food"))
+                .get()
+                .extracting(category -> category.getName())
+                .isEqualTo("Food");
+    }
+}
@@ -0,0 +1,126 @@
+package com.expensetracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.FileUpload;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.expensetracker.repository.CapturingStatementInspector")
+class JdbcBatchingTest {
+
+    private static final int ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Test");
+        user.setEmail("batching@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+
+        category = categoryRepository.save(new Category(user, "Food", "food"));
+
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+    }
+
+    // Expenses and uploads are persisted alternately; ordered inserts regroup
+    // them so each table still fills whole batches.
+    @Test
+    void insertsAreSentInBatches() {
+        User owner = entityManager.getReference(User.class, user.getId());
+        Category food = entityManager.getReference(Category.class, category.getId());
+        for (int i = 0; i < ROWS; i++) {
+            Expense expense = expense(owner, food, 100 + i);
+            entityManager.persist(expense);
+
+            FileUpload file = new FileUpload();
+            file.setOriginalFilename("receipt-" + i + ".pdf");
+            file.setStoredFilename("stored-" + i + ".pdf");
+            file.setContentType("application/pdf");
+            file.setFileSize(100L + i);
+            file.setFilePath("target/test-uploads/stored-" + i + ".pdf");
+            file.setUser(owner);
+            file.setExpense(expense);
+            entityManager.persist(file);
+        }
+        entityManager.flush();
+
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(count(statements, "insert into expenses")).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 1);
+        assertThat(count(statements, "insert into file_uploads")).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 1);
+        // the pooled optimizer fetches one block of ids per call
+        assertThat(count(statements, "expenses_seq")).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 2);
+        assertThat(count(statements, "file_uploads_seq")).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    void updatesAreSentInBatches() {
+        User owner = entityManager.getReference(User.class, user.getId());
+        Category food = entityManager.getReference(Category.class, category.getId());
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(expense(owner, food, 100 + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+
+        List<Expense> expenses = expenseRepository.findAll();
+        assertThat(expenses).hasSize(ROWS);
+        expenses.forEach(expense -> expense.setAmountMinor(expense.getAmountMinor() + 1));
+        entityManager.flush();
+
+        List<String> statements = CapturingStatementInspector.drain();
+        assertThat(count(statements, "update expenses")).isLessThanOrEqualTo(ROWS / BATCH_SIZE + 1);
+    }
+
+    private static Expense expense(User user, Category category, long amountMinor) {
+        Expense expense = new Expense();
+        expense.setAmountMinor(amountMinor);
+        expense.setCurrency("USD");
+        expense.setCategory(category);
+        expense.setExpenseDate(LocalDate.now());
+        expense.setUser(user);
+        return expense;
+    }
+
+    private static long count(List<String> statements, String fragment) {
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(fragment))
+                .count();
+    }
+}
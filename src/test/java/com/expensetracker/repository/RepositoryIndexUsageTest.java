@@ -0,0 +1,203 @@
+package com.expensetracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.expensetracker.repository.CapturingStatementInspector")
+class RepositoryIndexUsageTest {
+
+    private static final Pageable PAGE = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "expenseDate"));
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private Category category;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Test");
+        user.setEmail("plans@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+
+        category = categoryRepository.save(new Category(user, "Food", "food"));
+
+        expense = new Expense();
+        expense.setAmountMinor(1000);
+        expense.setCurrency("USD");
+        expense.setCategory(category);
+        expense.setExpenseDate(LocalDate.now());
+        expense.setUser(user);
+        expenseRepository.save(expense);
+
+        entityManager.flush();
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void expenseQueriesUseIndexes() throws SQLException {
+        assertUses("expenses", List.of("id"), () -> expenseRepository.findByIdAndUser(expense.getId(), user));
+        assertUses("expenses", List.of("id"),
+                () -> expenseRepository.findRowByIdAndUserId(expense.getId(), user.getId()));
+        assertUses("expenses", List.of("id"), () -> expenseRepository.findRowsByIdIn(List.of(expense.getId())));
+        // H2 only credits an index for ORDER BY columns it starts with, so
+        // plain per-user scans take the single-column foreign key index
+        assertUses("expenses", List.of("user_id"), () -> expenseRepository.sumByCurrency(user.getId()));
+        assertUses("expenses", List.of("user_id"), () -> expenseRepository.sumByCategoryAndCurrency(user.getId()));
+        assertUses("categories", List.of("user_id", "normalized_name"),
+                () -> categoryRepository.findByUserIdAndNormalizedName(user.getId(), "food"));
+    }
+
+    @Test
+    void filterCombinationsUseIndexes() throws SQLException {
+        LocalDate start = LocalDate.now().minusMonths(1);
+        LocalDate end = LocalDate.now();
+        List<Integer> one = List.of(category.getId());
+        List<Integer> several = List.of(category.getId(), category.getId() + 1);
+        List<String> byUser = List.of("user_id");
+        List<String> byDate = List.of("user_id", "expense_date", "id");
+        List<String> byCategory = List.of("user_id", "category_id", "expense_date");
+
+        Map<ExpenseCriteria, List<String>> combinations = new LinkedHashMap<>();
+        combinations.put(new ExpenseCriteria(user.getId(), null, null, null, null, null, null, null), byUser);
+        combinations.put(new ExpenseCriteria(user.getId(), one, null, null, null, null, null, null), byCategory);
+        combinations.put(new ExpenseCriteria(user.getId(), several, null, null, null, null, null, null), byCategory);
+        combinations.put(new ExpenseCriteria(user.getId(), null, null, null, start, null, null, null), byDate);
+        combinations.put(new ExpenseCriteria(user.getId(), null, null, null, null, end, null, null), byDate);
+        combinations.put(new ExpenseCriteria(user.getId(), one, null, null, start, end, null, null), byCategory);
+        combinations.put(new ExpenseCriteria(user.getId(), several, 100L, 5000L, start, end, null, "USD"), byCategory);
+        // the description prefix index is PostgreSQL only
+        combinations.put(new ExpenseCriteria(user.getId(), null, 100L, null, null, null, "coff", null), byUser);
+        combinations.put(new ExpenseCriteria(user.getId(), one, null, 5000L, start, null, "lunch", null), byCategory);
+
+        for (Map.Entry<ExpenseCriteria, List<String>> combination : combinations.entrySet()) {
+            assertUses("expenses", combination.getValue(),
+                    () -> expenseRepository.findRows(combination.getKey(), PAGE).getTotalElements());
+        }
+    }
+
+    @Test
+    void fileUploadQueriesUseIndexes() throws SQLException {
+        assertUses("file_uploads", List.of("user_id", "id"), () -> fileUploadRepository.findPageByUserId(
+                user.getId(), Long.MAX_VALUE, expense.getId(),
+                LocalDateTime.now().minusDays(1), LocalDateTime.now(), Limit.of(20)));
+        assertUses("file_uploads", List.of("id"), () -> fileUploadRepository.findByIdAndUser(1L, user));
+        assertUses("file_uploads", List.of("expense_id"), () -> fileUploadRepository.findByExpense(expense));
+        assertUses("file_uploads", List.of("id"),
+                () -> fileUploadRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100)));
+        assertUses("file_uploads", List.of("stored_filename"),
+                () -> fileUploadRepository.findExistingStoredFilenames(List.of("a.pdf", "b.pdf")));
+    }
+
+    // Runs the query and checks that every select it issued looks rows up
+    // through an index on exactly the given columns of the table.
+    private void assertUses(String table, List<String> columns, Runnable query) throws SQLException {
+        CapturingStatementInspector.clear();
+        query.run();
+        List<String> selects = CapturingStatementInspector.drain().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+
+        assertThat(selects).isNotEmpty();
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> indexes = indexesOn(connection, table, columns);
+            assertThat(indexes).as("indexes on %s %s", table, columns).isNotEmpty();
+            for (String sql : selects) {
+                String plan = explain(connection, sql);
+                assertThat(indexes).as(sql + "\n" + plan)
+                        .anyMatch(index -> plan.contains("PUBLIC." + index + ":"));
+            }
+        }
+    }
+
+    private List<String> indexesOn(Connection connection, String table, List<String> columns) throws SQLException {
+        String sql = """
+                SELECT INDEX_NAME, LISTAGG(COLUMN_NAME, ',') WITHIN GROUP (ORDER BY ORDINAL_POSITION)
+                FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+                WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ?
+                GROUP BY INDEX_NAME
+                """;
+        String expected = String.join(",", columns).toUpperCase(Locale.ROOT);
+        List<String> indexes = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, table.toUpperCase(Locale.ROOT));
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    if (result.getString(2).equals(expected)) {
+                        indexes.add(result.getString(1));
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+
+    // H2 plans are fixed at prepare time, so bind values do not change the
+    // chosen index and can all be null.
+    private String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (result.next()) {
+                    plan.append(result.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
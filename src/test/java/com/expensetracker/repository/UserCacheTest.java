@@ -0,0 +1,95 @@
+package com.expensetracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Outside the test transaction, so every lookup gets a fresh persistence
+// context, as separate requests do, and only the second-level cache is shared.
+// The JCache regions are JVM-wide, so the prefix keeps users cached by other
+// test contexts, with ids from another database, out of these regions.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.region_prefix=UserCacheTest"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Cached");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void lookupsByIdAndEmailRunNoQueries() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(userRepository.findById(user.getId())).isPresent();
+            assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(6);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void updatesReplaceCachedEntries() {
+        String oldEmail = user.getEmail();
+        String newEmail = UUID.randomUUID() + "@example.com";
+        userRepository.findByEmail(oldEmail).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setName("Renamed");
+            managed.setEmail(newEmail);
+        });
+
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getName).isEqualTo("Renamed");
+        assertThat(userRepository.findByEmail(newEmail)).get()
+                .extracting(User::getId).isEqualTo(user.getId());
+        assertThat(userRepository.findByEmail(oldEmail)).isEmpty();
+    }
+
+    @Test
+    void unknownEmailIsNotFound() {
+        assertThat(userRepository.findByEmail("missing-" + UUID.randomUUID() + "@example.com")).isEmpty();
+    }
+}
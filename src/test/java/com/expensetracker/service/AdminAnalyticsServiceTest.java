@@ -0,0 +1,209 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.dto.TopSpenderResponse;
+import com.expensetracker.exception.AnalyticsUnavailableException;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+
+// Outside the test transaction: partitions are scanned on the service's own threads.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminAnalyticsServiceTest {
+
+    // a month no other test writes to, as the reports span every user
+    private static final LocalDate START = LocalDate.of(2011, 5, 1);
+    private static final LocalDate END = LocalDate.of(2011, 5, 31);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AdminAnalyticsService> services = new ArrayList<>();
+    private int partitions;
+    // two ranges of two users each: {first, second} and {third, fourth}
+    private User first;
+    private User second;
+    private User third;
+    private User fourth;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("DELETE FROM expenses WHERE expense_date BETWEEN ? AND ?", START.minusMonths(1), END.plusMonths(1));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            users.add(user());
+        }
+
+        // as many partitions as make every range two ids wide
+        long min = jdbc.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        long max = jdbc.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        partitions = (int) ((max - min + 2) / 2);
+        Map<Long, List<User>> ranges = new TreeMap<>();
+        users.forEach(user -> ranges.computeIfAbsent((user.getId() - min) / 2, key -> new ArrayList<>()).add(user));
+        List<List<User>> full = ranges.values().stream().filter(range -> range.size() == 2).toList();
+        assertThat(full).hasSizeGreaterThanOrEqualTo(2);
+
+        first = full.get(0).get(0);
+        second = full.get(0).get(1);
+        third = full.get(1).get(0);
+        fourth = full.get(1).get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(AdminAnalyticsService::shutdown);
+    }
+
+    @Test
+    void categoryTotalsAreMergedAcrossPartitions() {
+        expense(first, "Food", 900);
+        expense(second, "Rent", 800);
+        expense(third, "food", 850);
+        expense(fourth, "Rent", 100);
+
+        Map<String, BigDecimal> totals = service(partitions).getCategorySpend(START, END).getTotals();
+
+        assertThat(totals.get("Food")).isEqualByComparingTo("17.50");
+        assertThat(totals.get("Rent")).isEqualByComparingTo("9.00");
+        assertThat(totals.keySet()).containsExactly("Food", "Rent");
+    }
+
+    @Test
+    void topSpendersAreTheGlobalTopAcrossPartitions() {
+        // each range's own top two differs from the global top two
+        expense(first, "Food", 900);
+        expense(second, "Food", 800);
+        expense(third, "Food", 850);
+        expense(fourth, "Food", 100);
+
+        List<TopSpenderResponse> top = service(partitions).getTopSpenders(START, END, 2);
+
+        assertThat(top).extracting(TopSpenderResponse::getUserId)
+                .containsExactly(first.getId(), third.getId());
+        assertThat(top.get(1).getTotal()).isEqualByComparingTo("8.50");
+        assertThat(top.get(1).getEmail()).isEqualTo(third.getEmail());
+    }
+
+    @Test
+    void activeUsersAtRangeBoundariesAreCountedOnce() {
+        expense(first, "Food", 100);
+        expense(first, "Rent", 200);
+        expense(second, "Food", 300);
+        expense(fourth, "Food", 400);
+        expense(third, "Food", 500, START.minusDays(1));
+        expense(third, "Food", 500, END.plusDays(1));
+
+        assertThat(service(partitions).getActiveUsers(START, END).getActiveUsers()).isEqualTo(3);
+    }
+
+    @Test
+    void partitionsStillRunningAtTheDeadlineAreCancelled() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        DataSource slow = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (Thread.currentThread().getName().startsWith("admin-analytics-")) {
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new SQLException("interrupted", e);
+                    }
+                }
+                return super.getConnection();
+            }
+        };
+        AdminAnalyticsService service = new AdminAnalyticsService(slow, userRepository,
+                new FxRateService(null, mock(PlatformTransactionManager.class), "USD", ""),
+                mock(PlatformTransactionManager.class), 1, 2, Duration.ofMillis(200));
+        services.add(service);
+
+        assertThatThrownBy(() -> service.getActiveUsers(START, END))
+                .isInstanceOf(AnalyticsUnavailableException.class)
+                .hasMessageContaining("timed out");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private AdminAnalyticsService service(int partitionCount) {
+        AdminAnalyticsService service = new AdminAnalyticsService(dataSource, userRepository,
+                new FxRateService(null, mock(PlatformTransactionManager.class), "USD", ""),
+                transactionManager, 4, partitionCount, Duration.ofSeconds(10));
+        services.add(service);
+        return service;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setName("Spender");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        return userRepository.save(user);
+    }
+
+    private void expense(User user, String category, long amountMinor) {
+        expense(user, category, amountMinor, START.plusDays(9));
+    }
+
+    private void expense(User user, String category, long amountMinor, LocalDate date) {
+        String normalized = category.toLowerCase();
+        Category owned = categoryRepository.findByUserIdAndNormalizedName(user.getId(), normalized)
+                .orElseGet(() -> categoryRepository.save(new Category(user, category, normalized)));
+        Expense expense = new Expense();
+        expense.setAmountMinor(amountMinor);
+        expense.setCurrency("USD");
+        expense.setCategory(owned);
+        expense.setExpenseDate(date);
+        expense.setUser(user);
+        expenseRepository.save(expense);
+    }
+}
@@ -0,0 +1,199 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.expensetracker.dto.CreateBudgetRequest;
+import com.expensetracker.exception.BudgetAlreadyExistsException;
+import com.expensetracker.model.Budget;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetUsageRepository;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.BudgetService.SpendDelta;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class BudgetServiceTest {
+
+    private static final LocalDate PERIOD = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetUsageRepository usageRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Object> events = new ArrayList<>();
+    private BudgetService budgetService;
+    private User user;
+    private Category food;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        budgetService = budgetService(budgetRepository);
+
+        user = new User();
+        user.setName("Budgeter");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+        food = categoryRepository.save(new Category(user, "Food", "food"));
+
+        budget = new Budget();
+        budget.setUser(user);
+        budget.setLimitMinor(10_000);
+        budget.setCurrency("USD");
+        budgetRepository.save(budget);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getId().toString(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void firstWriteIntoAMonthCountsEarlierExpensesAndItselfOnce() {
+        expense(2_000);
+        Expense created = expense(3_000);
+
+        budgetService.recordSpend(List.of(delta(created.getAmountMinor())));
+
+        assertThat(spent()).isEqualTo(5_000);
+    }
+
+    @Test
+    void updateIntoAMonthWithoutUsageIsNotCountedTwice() {
+        Expense expense = expense(1_000);
+        entityManager.flush();
+
+        expense.setAmountMinor(1_500);
+        budgetService.recordSpend(List.of(delta(-1_000), delta(1_500)));
+
+        assertThat(spent()).isEqualTo(1_500);
+    }
+
+    @Test
+    void laterWritesAreAddedToTheRunningTotal() {
+        budgetService.recordSpend(List.of(delta(expense(4_000).getAmountMinor())));
+
+        budgetService.recordSpend(List.of(delta(expense(4_500).getAmountMinor())));
+
+        assertThat(spent()).isEqualTo(8_500);
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(BudgetThresholdCrossedEvent.class,
+                        event -> assertThat(event.threshold()).isEqualTo(80));
+    }
+
+    @Test
+    void secondBudgetForTheSameScopeIsAConflict() {
+        assertThatThrownBy(() -> budgetService.createBudget(request(null)))
+                .isInstanceOf(BudgetAlreadyExistsException.class)
+                .hasMessage("A budget already exists for all categories");
+    }
+
+    @Test
+    void budgetCreatedConcurrentlyAfterTheCheckIsAConflict() {
+        // the check runs before the other request's insert
+        BudgetRepository racing = mock(BudgetRepository.class, delegatesTo(budgetRepository));
+        doReturn(false).when(racing).existsForScope(any(), any());
+        budgetService(racing).createBudget(request("Food"));
+
+        assertThatThrownBy(() -> budgetService(racing).createBudget(request("Food")))
+                .isInstanceOf(BudgetAlreadyExistsException.class)
+                .hasMessage("A budget already exists for category: Food");
+    }
+
+    @Test
+    void databaseRejectsASecondBudgetWithoutCategory() {
+        assertThatThrownBy(() -> new JdbcTemplate(dataSource).update(
+                "INSERT INTO budgets (user_id, limit_minor, currency, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)",
+                user.getId(), 5_000, "USD"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private BudgetService budgetService(BudgetRepository budgets) {
+        return new BudgetService(
+                budgets, usageRepository, expenseRepository, userRepository,
+                new CategoryService(categoryRepository, dataSource, 100),
+                new FxRateService(null, mock(PlatformTransactionManager.class), "USD", ""),
+                events::add, entityManager, dataSource, new int[] {80, 100});
+    }
+
+    private CreateBudgetRequest request(String category) {
+        CreateBudgetRequest request = new CreateBudgetRequest();
+        request.setCategory(category);
+        request.setMonthlyLimit(new BigDecimal("250.00"));
+        return request;
+    }
+
+    private Expense expense(long amountMinor) {
+        Expense expense = new Expense();
+        expense.setAmountMinor(amountMinor);
+        expense.setCurrency("USD");
+        expense.setCategory(food);
+        expense.setExpenseDate(PERIOD.plusDays(9));
+        expense.setUser(user);
+        return expenseRepository.save(expense);
+    }
+
+    private SpendDelta delta(long amountMinor) {
+        return new SpendDelta(user.getId(), food.getId(), PERIOD, "USD", amountMinor);
+    }
+
+    private long spent() {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT spent_minor FROM budget_usage WHERE budget_id = ? AND period_start = ?",
+                Long.class, budget.getId(), PERIOD);
+    }
+}
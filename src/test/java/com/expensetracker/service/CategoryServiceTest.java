@@ -0,0 +1,93 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.UserRepository;
+
+@DataJpaTest
+@Import(CategoryService.class)
+class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Categorizer");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void createsANameOnceAndKeepsTheFirstSpelling() {
+        Integer id = categoryService.resolveId(user.getId(), " Food ");
+
+        assertThat(categoryService.resolveId(user.getId(), "FOOD")).isEqualTo(id);
+        assertThat(categoryService.nameOf(id)).isEqualTo("Food");
+        assertThat(categoryRepository.findByUserIdAndNormalizedName(user.getId(), "food"))
+                .get()
+                .extracting(category -> category.getId())
+                .isEqualTo(id);
+    }
+
+    @Test
+    void anotherInstanceUsesTheExistingRow() {
+        Integer id = categoryService.resolveId(user.getId(), "Travel");
+
+        // its own, empty cache, as on another instance
+        CategoryService other = new CategoryService(categoryRepository, dataSource, 100);
+
+        assertThat(other.resolveId(user.getId(), "travel")).isEqualTo(id);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void aCategoryCreatedInARolledBackTransactionIsNotCached() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer rolledBack = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return categoryService.resolveId(user.getId(), "Rent");
+        });
+
+        Integer id = transaction.execute(status -> categoryService.resolveId(user.getId(), "Rent"));
+
+        assertThat(id).isNotEqualTo(rolledBack);
+        assertThat(categoryRepository.existsById(id)).isTrue();
+        assertThat(categoryService.resolveId(user.getId(), "rent")).isEqualTo(id);
+    }
+}
@@ -0,0 +1,84 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.expensetracker.exception.ResourceNotFoundException;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseRow;
+import com.expensetracker.repository.UserRepository;
+
+@SpringJUnitConfig
+class ExpenseServiceCacheTest {
+
+    private static final long OWNER = 1L;
+    private static final long OTHER = 2L;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cachedExpenseIsNotServedToAnotherUser() {
+        authenticate(OWNER);
+        assertThat(expenseService.getExpenseById(42L).getDescription()).isEqualTo("lunch");
+
+        authenticate(OTHER);
+        assertThatThrownBy(() -> expenseService.getExpenseById(42L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        authenticate(OWNER);
+        assertThat(expenseService.getExpenseById(42L).getDescription()).isEqualTo("lunch");
+    }
+
+    private static void authenticate(long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(Long.toString(userId), null, List.of()));
+    }
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("expenses");
+        }
+
+        @Bean
+        ExpenseService expenseService() {
+            ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+            when(expenseRepository.findRowByIdAndUserId(42L, OWNER)).thenReturn(Optional.of(
+                    new ExpenseRow(42L, 1_250, "USD", 7, "lunch", LocalDate.of(2026, 3, 10))));
+            when(expenseRepository.findRowByIdAndUserId(42L, OTHER)).thenReturn(Optional.empty());
+            CategoryService categoryService = mock(CategoryService.class);
+            when(categoryService.nameOf(7)).thenReturn("Food");
+            return new ExpenseService(expenseRepository, mock(UserRepository.class), mock(EmailService.class),
+                    categoryService, mock(BudgetService.class), mock(FxRateService.class),
+                    mock(SpendSketchService.class), mock(ExpenseAnomalyService.class),
+                    mock(DataVersionService.class), event -> { }, "USD");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.expensetracker.dto.ExpenseFilter;
+import com.expensetracker.repository.ExpenseCriteria;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+
+class ExpenseServiceTest {
+
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private ExpenseService expenseService;
+
+    @BeforeEach
+    void setUp() {
+        expenseService = new ExpenseService(expenseRepository, mock(UserRepository.class), mock(EmailService.class),
+                mock(CategoryService.class), mock(BudgetService.class), mock(FxRateService.class),
+                mock(SpendSketchService.class), mock(ExpenseAnomalyService.class),
+                mock(DataVersionService.class), event -> { }, "USD");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("1", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listsSortedByAnExpenseColumn() {
+        when(expenseRepository.findRows(any(ExpenseCriteria.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        assertThat(expenseService.getExpenses(new ExpenseFilter(),
+                PageRequest.of(0, 20, Sort.by("amountMinor").and(Sort.by("id"))))).isEmpty();
+    }
+
+    @Test
+    void rejectsSortingByAnythingElse() {
+        for (String property : List.of("user.password", "description", "category.name")) {
+            assertThatThrownBy(() -> expenseService.getExpenses(new ExpenseFilter(),
+                    PageRequest.of(0, 20, Sort.by(property))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining(property);
+        }
+        verifyNoInteractions(expenseRepository);
+    }
+}
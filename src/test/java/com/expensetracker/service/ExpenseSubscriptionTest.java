@@ -0,0 +1,71 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.expensetracker.dto.ExpenseResponse;
+import com.expensetracker.service.ExpenseChangedEvent.Type;
+
+class ExpenseSubscriptionTest {
+
+    @Test
+    void coalescesRepeatedChangesToOneEventPerExpense() {
+        ExpenseSubscription subscription = new ExpenseSubscription(1L, new SseEmitter(), 10);
+
+        subscription.offer(event(Type.CREATED, 1L, "10.00"));
+        subscription.offer(event(Type.UPDATED, 1L, "12.00"));
+        subscription.offer(event(Type.UPDATED, 2L, "5.00"));
+        subscription.offer(event(Type.UPDATED, 2L, "6.00"));
+        subscription.offer(event(Type.CREATED, 3L, "1.00"));
+        subscription.offer(event(Type.DELETED, 3L, null));
+
+        ExpenseSubscription.Batch batch = subscription.drain();
+
+        assertThat(batch.events()).extracting(ExpenseChangedEvent::type).containsExactly(Type.CREATED, Type.UPDATED);
+        assertThat(batch.events()).extracting(e -> e.expense().getAmount())
+                .containsExactly(new BigDecimal("12.00"), new BigDecimal("6.00"));
+        assertThat(batch.totalsChanged()).isTrue();
+        assertThat(subscription.drain().events()).isEmpty();
+    }
+
+    @Test
+    void overflowReplacesBufferWithResync() {
+        ExpenseSubscription subscription = new ExpenseSubscription(1L, new SseEmitter(), 3);
+
+        for (long id = 1; id <= 5; id++) {
+            subscription.offer(event(Type.CREATED, id, "1.00"));
+        }
+        ExpenseSubscription.Batch batch = subscription.drain();
+
+        assertThat(batch.overflowed()).isTrue();
+        assertThat(batch.events()).isEmpty();
+        assertThat(subscription.drain().overflowed()).isFalse();
+    }
+
+    @Test
+    void staysClaimedWhileChangesArriveDuringSend() {
+        ExpenseSubscription subscription = new ExpenseSubscription(1L, new SseEmitter(), 10);
+
+        assertThat(subscription.schedule()).isTrue();
+        assertThat(subscription.schedule()).isFalse();
+        subscription.drain();
+        subscription.offer(event(Type.CREATED, 1L, "1.00"));
+
+        assertThat(subscription.finishSend()).isTrue();
+        subscription.drain();
+        assertThat(subscription.finishSend()).isFalse();
+        assertThat(subscription.schedule()).isTrue();
+    }
+
+    private static ExpenseChangedEvent event(Type type, Long id, String amount) {
+        ExpenseResponse expense = amount != null
+                ? new ExpenseResponse(id, new BigDecimal(amount), "USD", "Food", null, LocalDate.of(2026, 1, 1))
+                : null;
+        return new ExpenseChangedEvent(1L, type, id, expense);
+    }
+}
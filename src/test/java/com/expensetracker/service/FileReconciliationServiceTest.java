@@ -0,0 +1,206 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.model.FileUpload;
+import com.expensetracker.model.ReconciliationCheckpoint;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.FileUploadRepository;
+import com.expensetracker.repository.ReconciliationCheckpointRepository;
+import com.expensetracker.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Outside the test transaction, so the checkpoint is read back as a later run would see it.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileReconciliationServiceTest {
+
+    private static final Duration GRACE_PERIOD = Duration.ofHours(1);
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Autowired
+    private ReconciliationCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path uploads;
+
+    @TempDir
+    private Path quarantine;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        fileUploadRepository.deleteAll();
+        checkpointRepository.deleteAll();
+
+        user = new User();
+        user.setName("Uploader");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+    }
+
+    @Test
+    void quarantinesOnlyOldUnreferencedFiles() throws IOException {
+        Path known = store(file("3a", true));
+        Path oldOrphan = file("3a", true);
+        Path youngOrphan = file("c7", false);
+
+        service(500).reconcile();
+
+        assertThat(known).exists();
+        assertThat(youngOrphan).exists();
+        assertThat(oldOrphan).doesNotExist();
+        assertThat(quarantine.resolve(oldOrphan.getFileName())).exists();
+        assertThat(meterRegistry.counter("file.reconcile.quarantined").count()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsRowsWhoseBlobIsMissing() throws IOException {
+        store(file("10", true));
+        Path lost = store(file("11", true));
+        Files.delete(lost);
+
+        service(500).reconcile();
+
+        assertThat(meterRegistry.counter("file.reconcile.missing").count()).isEqualTo(1);
+    }
+
+    @Test
+    void laterRunsResumeFromTheCheckpoint() throws IOException {
+        Path first = file("00", true);
+        Path second = file("01", true);
+        Path third = file("02", true);
+        // rows only, so the directory walk sees just the three orphans
+        FileUpload a = upload(store(uploads.resolve("05").resolve("05-a.pdf")));
+        FileUpload b = upload(store(uploads.resolve("06").resolve("06-b.pdf")));
+        store(uploads.resolve("07").resolve("07-c.pdf"));
+
+        service(2).reconcile();
+
+        assertThat(first).doesNotExist();
+        assertThat(second).doesNotExist();
+        assertThat(third).exists();
+        ReconciliationCheckpoint checkpoint =
+                checkpointRepository.findById(FileReconciliationService.CHECKPOINT_NAME).orElseThrow();
+        assertThat(checkpoint.getLastShard()).isEqualTo("01");
+        assertThat(checkpoint.getLastFileId()).isEqualTo(Math.max(a.getId(), b.getId()));
+
+        // a fresh instance, as after a restart
+        service(2).reconcile();
+
+        assertThat(third).doesNotExist();
+        checkpoint = checkpointRepository.findById(FileReconciliationService.CHECKPOINT_NAME).orElseThrow();
+        assertThat(checkpoint.getLastShard()).isNull();
+        assertThat(checkpoint.getLastFileId()).isZero();
+    }
+
+    @Test
+    void movesLegacyUploadsIntoTheirShard() throws IOException {
+        String name = "9f" + UUID.randomUUID().toString().substring(2) + ".pdf";
+        Path legacy = store(write(uploads.resolve(name), true));
+        Path legacyOrphan = write(uploads.resolve("e2" + UUID.randomUUID().toString().substring(2)), true);
+
+        service(500).reconcile();
+
+        Path sharded = uploads.resolve("9f").resolve(name);
+        assertThat(legacy).doesNotExist();
+        assertThat(sharded).hasContent("blob");
+        assertThat(fileUploadRepository.findByStoredFilenameIn(List.of(name)))
+                .singleElement()
+                .extracting(FileUpload::getFilePath)
+                .isEqualTo(sharded.toString());
+        assertThat(legacyOrphan).doesNotExist();
+        assertThat(quarantine.resolve(legacyOrphan.getFileName())).exists();
+    }
+
+    @Test
+    void resumesAMoveThatStoppedBeforeDeletingTheLegacyFile() throws IOException {
+        String linked = "4b" + UUID.randomUUID().toString().substring(2) + ".pdf";
+        String truncated = "4c" + UUID.randomUUID().toString().substring(2) + ".pdf";
+        Path linkedLegacy = store(write(uploads.resolve(linked), true));
+        Path truncatedLegacy = store(write(uploads.resolve(truncated), true));
+        Files.createDirectories(uploads.resolve("4b"));
+        Files.createLink(uploads.resolve("4b").resolve(linked), linkedLegacy);
+        Files.createDirectories(uploads.resolve("4c"));
+        Files.writeString(uploads.resolve("4c").resolve(truncated), "bl");
+
+        service(500).reconcile();
+
+        assertThat(linkedLegacy).doesNotExist();
+        assertThat(truncatedLegacy).doesNotExist();
+        assertThat(uploads.resolve("4b").resolve(linked)).hasContent("blob");
+        assertThat(uploads.resolve("4c").resolve(truncated)).hasContent("blob");
+        assertThat(fileUploadRepository.findByStoredFilenameIn(List.of(linked, truncated)))
+                .extracting(FileUpload::getFilePath)
+                .containsExactlyInAnyOrder(
+                        uploads.resolve("4b").resolve(linked).toString(),
+                        uploads.resolve("4c").resolve(truncated).toString());
+    }
+
+    private FileReconciliationService service(int batchSize) {
+        return new FileReconciliationService(fileUploadRepository, checkpointRepository, meterRegistry,
+                uploads.toString(), quarantine.toString(), batchSize, GRACE_PERIOD, true);
+    }
+
+    private Path file(String shard, boolean old) throws IOException {
+        String name = shard + UUID.randomUUID().toString().substring(2) + ".pdf";
+        Path path = uploads.resolve(shard).resolve(name);
+        Files.createDirectories(path.getParent());
+        return write(path, old);
+    }
+
+    private static Path write(Path path, boolean old) throws IOException {
+        Files.writeString(path, "blob");
+        if (old) {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(GRACE_PERIOD.multipliedBy(2))));
+        }
+        return path;
+    }
+
+    private Path store(Path path) {
+        FileUpload row = new FileUpload();
+        row.setOriginalFilename("receipt.pdf");
+        row.setStoredFilename(path.getFileName().toString());
+        row.setContentType("application/pdf");
+        row.setFileSize(4L);
+        row.setFilePath(path.toString());
+        row.setUser(user);
+        fileUploadRepository.save(row);
+        return path;
+    }
+
+    private FileUpload upload(Path path) {
+        return fileUploadRepository.findByStoredFilenameIn(List.of(path.getFileName().toString()))
+                .get(0);
+    }
+}
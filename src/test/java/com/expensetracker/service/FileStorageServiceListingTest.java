@@ -0,0 +1,135 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.expensetracker.dto.FileListResponse;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.FileUpload;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.FileUploadRepository;
+import com.expensetracker.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.file.upload-dir=target/test-uploads"
+})
+@Import(FileStorageService.class)
+class FileStorageServiceListingTest {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private FileUploadRepository fileUploadRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Test");
+        user.setEmail("files@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+
+        expense = new Expense();
+        expense.setAmountMinor(1250);
+        expense.setCurrency("USD");
+        expense.setCategory(categoryRepository.save(new Category(user, "Food", "food")));
+        expense.setExpenseDate(LocalDate.now());
+        expense.setUser(user);
+        expenseRepository.save(expense);
+
+        for (int i = 0; i < 5; i++) {
+            FileUpload file = new FileUpload();
+            file.setOriginalFilename("receipt-" + i + ".pdf");
+            file.setStoredFilename("stored-" + i + ".pdf");
+            file.setContentType("application/pdf");
+            file.setFileSize(100L + i);
+            file.setFilePath("target/test-uploads/stored-" + i + ".pdf");
+            file.setUser(user);
+            file.setExpense(i % 2 == 0 ? expense : null);
+            fileUploadRepository.save(file);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getId().toString(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listingRunsExactlyOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        FileListResponse page = fileStorageService.getUserFiles(null, null, null, null, 3);
+
+        assertThat(page.getFiles()).hasSize(3);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void cursorWalksRemainingFiles() {
+        FileListResponse first = fileStorageService.getUserFiles(null, null, null, null, 3);
+        FileListResponse second = fileStorageService.getUserFiles(null, null, null, first.getNextCursor(), 3);
+
+        assertThat(second.getFiles()).hasSize(2);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getFiles().get(0).getId()).isLessThan(first.getNextCursor());
+    }
+
+    @Test
+    void filtersByExpense() {
+        FileListResponse page = fileStorageService.getUserFiles(expense.getId(), null, null, null, 10);
+
+        assertThat(page.getFiles()).hasSize(3)
+                .allSatisfy(file -> assertThat(file.getExpenseId()).isEqualTo(expense.getId()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.dto.FileUploadResponse;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.FileUpload;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs outside the test transaction so each service call opens its own, as
+// it does in a request. Every call used to take one connection per
+// repository call; it now takes exactly one.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.file.upload-dir=target/test-uploads"
+})
+@Import(FileStorageService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTransactionTest {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Test");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+
+        expense = new Expense();
+        expense.setAmountMinor(1250);
+        expense.setCurrency("USD");
+        expense.setCategory(categoryRepository.save(new Category(user, "Food", "food")));
+        expense.setExpenseDate(LocalDate.now());
+        expense.setUser(user);
+        expenseRepository.save(expense);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getId().toString(), null, List.of()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void uploadTakesOneConnection() throws IOException {
+        statistics.clear();
+
+        FileUploadResponse uploaded = fileStorageService.uploadFile(receipt(), expense.getId());
+
+        assertThat(uploaded.getExpenseId()).isEqualTo(expense.getId());
+        assertThat(statistics.getConnectCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteTakesOneConnectionAndRemovesTheFile() throws IOException {
+        FileUploadResponse uploaded = fileStorageService.uploadFile(receipt(), null);
+        Path stored = Path.of(fileStorageService.getFileUpload(uploaded.getId()).getFilePath());
+        statistics.clear();
+
+        fileStorageService.deleteFile(uploaded.getId());
+
+        assertThat(statistics.getConnectCount()).isEqualTo(1);
+        assertThat(Files.exists(stored)).isFalse();
+    }
+
+    @Test
+    void readsTakeOneConnectionEach() throws IOException {
+        FileUploadResponse uploaded = fileStorageService.uploadFile(receipt(), expense.getId());
+        statistics.clear();
+
+        FileUpload file = fileStorageService.getFileUpload(uploaded.getId());
+        fileStorageService.getUserFiles(null, null, null, null, 10);
+
+        assertThat(file.getOriginalFilename()).isEqualTo("receipt.pdf");
+        assertThat(statistics.getConnectCount()).isEqualTo(2);
+    }
+
+    private static MockMultipartFile receipt() {
+        return new MockMultipartFile("file", "receipt.pdf", "application/pdf", new byte[] {1, 2, 3});
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.FxRate;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.FxRateRepository;
+import com.expensetracker.repository.UserRepository;
+
+@DataJpaTest
+class FxRateServiceTest {
+
+    @Autowired
+    private FxRateRepository fxRateRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private FxRateService fxRateService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        fxRateService = new FxRateService(fxRateRepository, transactionManager, "USD", "");
+        fxRateService.replaceRates(Map.of("EUR", new BigDecimal("1.08"), "GBP", new BigDecimal("1.27")));
+
+        user = new User();
+        user.setName("Traveller");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+    }
+
+    @Test
+    void unusedCurrenciesCanBeDropped() {
+        fxRateService.replaceRates(Map.of("EUR", new BigDecimal("1.10")));
+
+        assertThat(fxRateRepository.findAll()).extracting(FxRate::getCurrency)
+                .containsExactlyInAnyOrder("USD", "EUR");
+        assertThat(fxRateService.current().supports("GBP")).isFalse();
+    }
+
+    @Test
+    void currenciesStillUsedByExpensesAreKept() {
+        Expense expense = new Expense();
+        expense.setAmountMinor(1_000);
+        expense.setCurrency("GBP");
+        expense.setCategory(categoryRepository.save(new Category(user, "Food", "food")));
+        expense.setExpenseDate(LocalDate.of(2026, 3, 1));
+        expense.setUser(user);
+        expenseRepository.save(expense);
+
+        assertThatThrownBy(() -> fxRateService.replaceRates(Map.of("EUR", new BigDecimal("1.10"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("GBP");
+
+        assertThat(fxRateRepository.findById("EUR")).get()
+                .extracting(FxRate::getRate)
+                .satisfies(rate -> assertThat(rate).isEqualByComparingTo("1.08"));
+        assertThat(fxRateService.current().supports("GBP")).isTrue();
+    }
+
+    @Test
+    void homeCurrenciesAreKept() {
+        user.setHomeCurrency("EUR");
+        userRepository.save(user);
+
+        assertThatThrownBy(() -> fxRateService.replaceRates(Map.of("GBP", new BigDecimal("1.27"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("EUR");
+    }
+}
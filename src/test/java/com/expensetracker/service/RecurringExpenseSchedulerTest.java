@@ -0,0 +1,192 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.config.BatchDatabase;
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.UserRepository;
+
+// Outside the test transaction: the scheduler commits on its own worker threads.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringExpenseSchedulerTest {
+
+    private static final String DAILY = "0 0 0 * * *";
+    private static final int MAX_CATCH_UP = 4;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final List<RecurringExpenseScheduler> schedulers = new ArrayList<>();
+    private final BudgetService budgetService = mock(BudgetService.class);
+    private JdbcTemplate jdbc;
+    private LocalDate today;
+    private User user;
+    private Category rent;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        today = LocalDate.now();
+        // templates left by an earlier test would be generated too
+        jdbc.update("UPDATE recurring_expenses SET next_run_date = NULL");
+
+        user = new User();
+        user.setName("Subscriber");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+        rent = categoryRepository.save(new Category(user, "Rent", "rent"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.forEach(RecurringExpenseScheduler::shutdown);
+    }
+
+    @Test
+    void repeatedRunsNeverInsertAnOccurrenceTwice() {
+        long template = template(today.minusDays(2));
+        RecurringExpenseScheduler scheduler = scheduler(new JdbcTemplate(dataSource), 2);
+
+        scheduler.generateDueOccurrences();
+        // as after a restart that lost the advance
+        jdbc.update("UPDATE recurring_expenses SET next_run_date = ? WHERE id = ?", today.minusDays(2), template);
+        scheduler.generateDueOccurrences();
+        scheduler.generateDueOccurrences();
+
+        assertThat(occurrences(template))
+                .containsExactly(today.minusDays(2), today.minusDays(1), today);
+        assertThat(nextRunDate(template)).isEqualTo(today.plusDays(1));
+    }
+
+    @Test
+    void templateBehindByManyPeriodsIsCaughtUpInCappedSteps() {
+        long template = template(today.minusDays(9));
+        RecurringExpenseScheduler scheduler = scheduler(new JdbcTemplate(dataSource), 2);
+
+        scheduler.generateDueOccurrences();
+
+        assertThat(occurrences(template)).hasSize(MAX_CATCH_UP);
+        assertThat(nextRunDate(template)).isEqualTo(today.minusDays(9 - MAX_CATCH_UP));
+
+        scheduler.generateDueOccurrences();
+        scheduler.generateDueOccurrences();
+
+        assertThat(occurrences(template)).hasSize(10);
+        assertThat(occurrences(template).get(9)).isEqualTo(today);
+        assertThat(nextRunDate(template)).isEqualTo(today.plusDays(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void templateAdvancedByAnotherRunIsSkipped() {
+        long generated = template(today.minusDays(1));
+        long raced = template(today.minusDays(1));
+        // another run advances the second template between the read of the
+        // due templates and this run's own advance
+        JdbcTemplate racing = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                List<T> rows = super.query(sql, rowMapper, args);
+                update("UPDATE recurring_expenses SET next_run_date = ? WHERE id = ?", today.plusDays(1), raced);
+                return rows;
+            }
+        };
+
+        scheduler(racing, 1).generateDueOccurrences();
+
+        assertThat(occurrences(generated)).containsExactly(today.minusDays(1), today);
+        assertThat(occurrences(raced)).isEmpty();
+        assertThat(nextRunDate(raced)).isEqualTo(today.plusDays(1));
+
+        ArgumentCaptor<List<BudgetService.SpendDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(budgetService, atLeastOnce()).recordSpend(any(JdbcTemplate.class), deltas.capture());
+        assertThat(deltas.getAllValues().stream()
+                .flatMap(List::stream)
+                .mapToLong(BudgetService.SpendDelta::amountMinor)
+                .sum())
+                .isEqualTo(2 * 1_000);
+    }
+
+    private RecurringExpenseScheduler scheduler(JdbcTemplate batchJdbc, int workers) {
+        BatchDatabase batchDatabase = mock(BatchDatabase.class);
+        when(batchDatabase.jdbc()).thenReturn(batchJdbc);
+        when(batchDatabase.transactions())
+                .thenReturn(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        RecurringExpenseScheduler scheduler = new RecurringExpenseScheduler(
+                batchDatabase, budgetService, mock(SpendSketchService.class),
+                new DataVersionService(dataSource), events::add, workers, 100, MAX_CATCH_UP, true);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private long template(LocalDate nextRunDate) {
+        return new SimpleJdbcInsert(dataSource)
+                .withTableName("recurring_expenses")
+                .usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(Map.of(
+                        "user_id", user.getId(),
+                        "category_id", rent.getId(),
+                        "amount_minor", 1_000L,
+                        "currency", "USD",
+                        "description", "Rent",
+                        "schedule", DAILY,
+                        "start_date", nextRunDate,
+                        "next_run_date", nextRunDate,
+                        "created_at", Timestamp.valueOf(today.atStartOfDay())))
+                .longValue();
+    }
+
+    private List<LocalDate> occurrences(long template) {
+        return jdbc.queryForList(
+                "SELECT occurrence_date FROM expenses WHERE recurring_expense_id = ? ORDER BY occurrence_date",
+                LocalDate.class, template);
+    }
+
+    private LocalDate nextRunDate(long template) {
+        return jdbc.queryForObject(
+                "SELECT next_run_date FROM recurring_expenses WHERE id = ?", LocalDate.class, template);
+    }
+}
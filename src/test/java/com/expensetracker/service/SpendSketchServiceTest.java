@@ -0,0 +1,187 @@
+package com.expensetracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.expensetracker.model.Category;
+import com.expensetracker.model.Expense;
+import com.expensetracker.model.Role;
+import com.expensetracker.model.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.repository.ExpenseRepository;
+import com.expensetracker.repository.ExpenseSketchRepository;
+import com.expensetracker.repository.UserRepository;
+import com.expensetracker.service.SpendSketchService.SketchEntry;
+import com.expensetracker.util.SpendDistribution;
+
+import db.migration.V18__backfill_expense_sketches;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class SpendSketchServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private ExpenseSketchRepository sketchRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private SpendSketchService spendSketchService;
+    private User user;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        spendSketchService = new SpendSketchService(
+                sketchRepository, userRepository,
+                new CategoryService(categoryRepository, dataSource, 100),
+                new FxRateService(null, mock(PlatformTransactionManager.class), "USD", ""),
+                entityManager, dataSource);
+
+        user = new User();
+        user.setName("Sketcher");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.USER);
+        user.setHomeCurrency("USD");
+        userRepository.save(user);
+        food = categoryRepository.save(new Category(user, "Food", "food"));
+    }
+
+    @Test
+    void firstWriteIntoAMonthCountsEarlierExpensesAndItselfOnce() {
+        expense(2_000, "lunch");
+        Expense created = expense(3_000, "dinner");
+
+        spendSketchService.recordChanges(List.of(), List.of(entry(created)));
+
+        assertThat(sketchCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateIntoAMonthWithoutASketchIsNotCountedTwice() {
+        Expense expense = expense(1_000, "lunch");
+        entityManager.flush();
+        SketchEntry old = entry(expense);
+
+        expense.setDescription("brunch");
+        spendSketchService.recordChanges(List.of(old), List.of(entry(expense)));
+
+        assertThat(sketchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void laterWritesAreAppliedToTheSketch() {
+        spendSketchService.recordChanges(List.of(), List.of(entry(expense(4_000, "lunch"))));
+        Expense second = expense(4_500, "dinner");
+        spendSketchService.recordChanges(List.of(), List.of(entry(second)));
+
+        expenseRepository.delete(second);
+        spendSketchService.recordChanges(List.of(entry(second)), List.of());
+
+        assertThat(sketchCount()).isEqualTo(1);
+    }
+
+    @Test
+    void backfillBuildsMissingMonthsAndKeepsExistingOnes() throws Exception {
+        expense(1_000, "lunch");
+        expense(1_500, "dinner");
+        Expense later = expense(900, "snack");
+        later.setExpenseDate(DATE.plusMonths(1));
+        spendSketchService.recordChanges(List.of(), List.of(entry(later)));
+        Expense unsketched = expense(700, "coffee");
+        unsketched.setExpenseDate(DATE.plusMonths(1));
+        entityManager.flush();
+
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(DataSourceUtils.getConnection(dataSource));
+        new V18__backfill_expense_sketches().migrate(context);
+
+        assertThat(sketchCount()).isEqualTo(2);
+        // the existing sketch is left alone, so the expense written without one stays out of it
+        assertThat(sketchCount(DATE.plusMonths(1))).isEqualTo(1);
+    }
+
+    @Test
+    void backfillWritesTheSketchEncodingTheApplicationReads() throws Exception {
+        SpendDistribution expected = new SpendDistribution();
+        long[] amounts = {0, 1, 999, 1_000, 123_456_789};
+        for (int i = 0; i < amounts.length; i++) {
+            String description = i % 2 == 0 ? " Lunch " : "Taxi " + i;
+            expense(amounts[i], description);
+            expected.add(amounts[i], description);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            expected.add(500, "item " + i);
+            expense(500, "item " + i);
+        }
+        entityManager.flush();
+
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(DataSourceUtils.getConnection(dataSource));
+        new V18__backfill_expense_sketches().migrate(context);
+
+        Map<String, Object> row = new JdbcTemplate(dataSource).queryForMap(
+                "SELECT amounts, descriptions FROM expense_sketches WHERE user_id = ? AND period_start = ?",
+                user.getId(), DATE.withDayOfMonth(1));
+        assertThat((byte[]) row.get("amounts")).isEqualTo(expected.amountsToBytes());
+        assertThat((byte[]) row.get("descriptions")).isEqualTo(expected.descriptionsToBytes());
+    }
+
+    private Expense expense(long amountMinor, String description) {
+        Expense expense = new Expense();
+        expense.setAmountMinor(amountMinor);
+        expense.setCurrency("USD");
+        expense.setCategory(food);
+        expense.setDescription(description);
+        expense.setExpenseDate(DATE);
+        expense.setUser(user);
+        return expenseRepository.save(expense);
+    }
+
+    private SketchEntry entry(Expense expense) {
+        return new SketchEntry(user.getId(), food.getId(), expense.getExpenseDate(), "USD",
+                expense.getAmountMinor(), expense.getDescription());
+    }
+
+    private long sketchCount() {
+        return sketchCount(DATE);
+    }
+
+    private long sketchCount(LocalDate date) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT expense_count FROM expense_sketches WHERE user_id = ? AND period_start = ?",
+                Long.class, user.getId(), date.withDayOfMonth(1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.expensetracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class DistinctCountSketchTest {
+
+    // about three standard errors for 2^12 registers
+    private static final double TOLERANCE = 0.05;
+
+    @Test
+    void smallCountsAreExact() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        assertThat(sketch.estimate()).isZero();
+
+        for (int i = 0; i < 100; i++) {
+            sketch.add("merchant-" + i);
+            sketch.add("merchant-" + i);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(100);
+    }
+
+    @Test
+    void estimatesStayWithinErrorBoundsAcrossRanges() {
+        for (int count : new int[] {1_000, 5_000, 10_000, 50_000, 500_000}) {
+            DistinctCountSketch sketch = new DistinctCountSketch();
+            for (int i = 0; i < count; i++) {
+                sketch.add("merchant-" + i);
+            }
+
+            assertThat((double) sketch.estimate())
+                    .as("%d distinct values", count)
+                    .isCloseTo(count, within(count * TOLERANCE));
+        }
+    }
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        DistinctCountSketch left = new DistinctCountSketch();
+        DistinctCountSketch right = new DistinctCountSketch();
+        for (int i = 0; i < 30_000; i++) {
+            left.add("merchant-" + i);
+        }
+        for (int i = 20_000; i < 60_000; i++) {
+            right.add("merchant-" + i);
+        }
+
+        left.merge(right);
+
+        assertThat((double) left.estimate()).isCloseTo(60_000, within(60_000 * TOLERANCE));
+    }
+
+    @Test
+    void roundTripsSparseAndDenseEncodings() {
+        DistinctCountSketch sparse = new DistinctCountSketch();
+        DistinctCountSketch dense = new DistinctCountSketch();
+        for (int i = 0; i < 20; i++) {
+            sparse.add("merchant-" + i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            dense.add("merchant-" + i);
+        }
+
+        assertThat(sparse.toBytes().length).isLessThan(100);
+        assertThat(DistinctCountSketch.fromBytes(sparse.toBytes()).estimate()).isEqualTo(sparse.estimate());
+        assertThat(DistinctCountSketch.fromBytes(dense.toBytes()).estimate()).isEqualTo(dense.estimate());
+    }
+
+    @Test
+    void rejectsMalformedBytes() {
+        assertThatThrownBy(() -> DistinctCountSketch.fromBytes(new byte[] {1, 7}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DistinctCountSketch.fromBytes(new byte[] {1, 0, 2, 5}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
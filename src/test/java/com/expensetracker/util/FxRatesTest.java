@@ -0,0 +1,66 @@
+package com.expensetracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class FxRatesTest {
+
+    private static final FxRates RATES = FxRates.of("USD", Map.of(
+            "EUR", new BigDecimal("1.08"),
+            "JPY", new BigDecimal("0.0067")), Instant.EPOCH);
+
+    @Test
+    void convertsBetweenCurrencyScales() {
+        // 10.00 EUR = 10.80 USD
+        assertThat(RATES.convert(1000, "EUR", "USD")).isEqualTo(1080);
+        // 1000 JPY = 6.70 USD
+        assertThat(RATES.convert(1000, "JPY", "USD")).isEqualTo(670);
+        // 10.80 USD = 1611.94... JPY, rounded to whole yen
+        assertThat(RATES.convert(1080, "USD", "JPY")).isEqualTo(1612);
+        assertThat(RATES.convert(1234, "EUR", "EUR")).isEqualTo(1234);
+    }
+
+    @Test
+    void minorUnitFactorAccountsForCurrencyScales() {
+        assertThat(RATES.minorUnitFactor("EUR", "USD")).isEqualTo(1.08);
+        // 1 yen = 0.67 US cents
+        assertThat(RATES.minorUnitFactor("JPY", "USD")).isEqualTo(0.67);
+        assertThat(RATES.minorUnitFactor("USD", "USD")).isEqualTo(1);
+    }
+
+    @Test
+    void baseCurrencyIsAlwaysSupported() {
+        FxRates empty = FxRates.of("USD", Map.of(), Instant.EPOCH);
+
+        assertThat(empty.supports("USD")).isTrue();
+        assertThat(empty.supports("EUR")).isFalse();
+        assertThatThrownBy(() -> empty.convert(100, "EUR", "USD"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsInvalidRates() {
+        assertThatThrownBy(() -> FxRates.of("USD", Map.of("EUR", BigDecimal.ZERO), Instant.EPOCH))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FxRates.of("USD", Map.of("XXQ", BigDecimal.ONE), Instant.EPOCH))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterChangesToTheSource() {
+        Map<String, BigDecimal> source = new HashMap<>(Map.of("EUR", new BigDecimal("1.08")));
+        FxRates rates = FxRates.of("USD", source, Instant.EPOCH);
+
+        source.put("EUR", new BigDecimal("2"));
+        rates.getRates().put("EUR", new BigDecimal("3"));
+
+        assertThat(rates.convert(1000, "EUR", "USD")).isEqualTo(1080);
+    }
+}
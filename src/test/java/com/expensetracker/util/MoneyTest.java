@@ -0,0 +1,94 @@
+package com.expensetracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void convertsUsingCurrencyScale() {
+        assertThat(Money.toMinorUnits(new BigDecimal("12.34"), USD)).isEqualTo(1234);
+        assertThat(Money.toMinorUnits(new BigDecimal("12.30"), USD)).isEqualTo(1230);
+        assertThat(Money.toMinorUnits(new BigDecimal("1234"), JPY)).isEqualTo(1234);
+        assertThat(Money.fromMinorUnits(1234, USD)).isEqualByComparingTo("12.34");
+        assertThat(Money.fromMinorUnits(1234, JPY)).isEqualByComparingTo("1234");
+    }
+
+    @Test
+    void rejectsAmountsFinerThanCurrencyScale() {
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("0.001"), USD))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("1.5"), JPY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void categoryTotalsAreExactForRandomAmounts() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            CategoryTotals totals = new CategoryTotals(random.nextInt(8) + 1);
+            Map<Integer, BigDecimal> expected = new HashMap<>();
+            BigDecimal exactTotal = BigDecimal.ZERO;
+
+            int rows = 1 + random.nextInt(5_000);
+            for (int i = 0; i < rows; i++) {
+                int categoryId = random.nextInt(64);
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+
+                totals.add(categoryId, Money.toMinorUnits(amount, USD));
+                expected.merge(categoryId, amount, BigDecimal::add);
+                exactTotal = exactTotal.add(amount);
+            }
+
+            assertThat(totals.size()).isEqualTo(expected.size());
+            expected.forEach((categoryId, amount) -> assertThat(
+                    Money.fromMinorUnits(totals.get(categoryId), USD)).isEqualByComparingTo(amount));
+
+            long[] sum = {0};
+            totals.forEach((categoryId, minor) -> sum[0] += minor);
+            assertThat(Money.fromMinorUnits(sum[0], USD)).isEqualByComparingTo(exactTotal);
+        }
+    }
+
+    @Test
+    void categoryTotalsOverflowInsteadOfWrapping() {
+        CategoryTotals totals = new CategoryTotals();
+        totals.add(1, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> totals.add(1, 1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void addingToExistingCategoriesDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CategoryTotals totals = new CategoryTotals(32);
+        for (int categoryId = 0; categoryId < 32; categoryId++) {
+            totals.add(categoryId, 1);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            totals.add(i & 31, i);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000_000; i++) {
+            totals.add(i & 31, i);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(allocated).isLessThan(1024);
+    }
+}
@@ -0,0 +1,127 @@
+package com.expensetracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.25, 0.5, 0.9, 0.99, 0.999, 1};
+
+    @Test
+    void quantilesStayWithinRelativeAccuracy() {
+        long[] amounts = logNormalAmounts(new Random(42), 100_000);
+        QuantileSketch sketch = new QuantileSketch();
+        for (long amount : amounts) {
+            sketch.add(amount);
+        }
+
+        assertThat(sketch.count()).isEqualTo(amounts.length);
+        assertWithinAccuracy(sketch, amounts, 1, QuantileSketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void mergeMatchesSketchOfCombinedValues() {
+        Random random = new Random(7);
+        long[] first = logNormalAmounts(random, 20_000);
+        long[] second = logNormalAmounts(random, 5_000);
+
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        QuantileSketch combined = new QuantileSketch();
+        for (long amount : first) {
+            left.add(amount);
+            combined.add(amount);
+        }
+        for (long amount : second) {
+            right.add(amount);
+            combined.add(amount);
+        }
+        left.merge(right);
+
+        assertThat(left.toBytes()).isEqualTo(combined.toBytes());
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(1_000);
+        sketch.add(2_000);
+        byte[] before = sketch.toBytes();
+
+        sketch.add(50_000);
+        sketch.add(0);
+        sketch.remove(50_000);
+        sketch.remove(0);
+        sketch.remove(123);
+
+        assertThat(sketch.toBytes()).isEqualTo(before);
+        assertThat(sketch.count()).isEqualTo(2);
+    }
+
+    @Test
+    void scaledSketchStaysWithinTwiceTheAccuracy() {
+        long[] amounts = logNormalAmounts(new Random(11), 50_000);
+        QuantileSketch sketch = new QuantileSketch();
+        for (long amount : amounts) {
+            sketch.add(amount);
+        }
+
+        double factor = 0.0067 * 100;
+        double accuracy = 2 * QuantileSketch.RELATIVE_ACCURACY
+                + QuantileSketch.RELATIVE_ACCURACY * QuantileSketch.RELATIVE_ACCURACY;
+        assertWithinAccuracy(sketch.scaled(factor), amounts, factor, accuracy);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long amount : logNormalAmounts(new Random(3), 1_000)) {
+            sketch.add(amount);
+        }
+        sketch.add(0);
+
+        QuantileSketch copy = QuantileSketch.fromBytes(sketch.toBytes());
+
+        assertThat(copy.count()).isEqualTo(sketch.count());
+        for (double q : QUANTILES) {
+            assertThat(copy.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+    }
+
+    @Test
+    void handlesEmptyAndInvalidInput() {
+        QuantileSketch empty = new QuantileSketch();
+
+        assertThat(empty.quantile(0.5)).isNaN();
+        assertThat(QuantileSketch.fromBytes(empty.toBytes()).count()).isZero();
+        assertThatThrownBy(() -> empty.quantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantileSketch.fromBytes(new byte[] {1, 0, 5}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertWithinAccuracy(QuantileSketch sketch, long[] amounts, double factor, double accuracy) {
+        long[] sorted = amounts.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))] * factor;
+            assertThat(sketch.quantile(q))
+                    .as("quantile %s", q)
+                    .isCloseTo(exact, within(exact * accuracy + 1e-9));
+        }
+    }
+
+    // expense-like amounts in cents: median around $11, long right tail
+    private static long[] logNormalAmounts(Random random, int count) {
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = Math.max(1, Math.round(Math.exp(7 + 1.5 * random.nextGaussian())));
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,74 @@
+package com.expensetracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.util.SpendingStats.Anomaly;
+
+class SpendingStatsTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long HOUR = 3_600_000L;
+    private static final SpendingStats.Settings SETTINGS = new SpendingStats.Settings(0.1, 3.0, 0.25, 10, 4.0, 3);
+
+    @Test
+    void flagsAmountFarAboveTheUsualRange() {
+        SpendingStats stats = new SpendingStats();
+        long time = warmUp(stats, new Random(1), 60);
+
+        assertThat(stats.observe(40_000, time + DAY, SETTINGS)).containsExactly(Anomaly.AMOUNT_OUTLIER);
+        assertThat(stats.observe(1_600, time + 2 * DAY, SETTINGS)).isEmpty();
+    }
+
+    @Test
+    void doesNotFlagAnythingDuringWarmUp() {
+        SpendingStats stats = new SpendingStats();
+        for (int i = 0; i < 9; i++) {
+            assertThat(stats.observe(i % 2 == 0 ? 500 : 50_000, i * HOUR, SETTINGS)).isEmpty();
+        }
+        assertThat(stats.count()).isEqualTo(9);
+    }
+
+    @Test
+    void flagsBurstOfExpensesAgainstTheBaselineRate() {
+        SpendingStats stats = new SpendingStats();
+        long time = warmUp(stats, new Random(2), 40);
+
+        // about one a day so far, then five within an hour
+        time += DAY;
+        for (int i = 0; i < 4; i++) {
+            assertThat(stats.observe(1_500, time + i * 10 * 60_000, SETTINGS)).isEmpty();
+        }
+        assertThat(stats.observe(1_500, time + 40 * 60_000, SETTINGS)).containsExactly(Anomaly.FREQUENCY_SPIKE);
+    }
+
+    @Test
+    void steadySpendingRaisesFewFlags() {
+        SpendingStats stats = new SpendingStats();
+        Random random = new Random(3);
+        long time = 0;
+        int flagged = 0;
+        for (int i = 0; i < 1_000; i++) {
+            time += (long) (DAY * (0.5 + random.nextDouble()));
+            long amount = Math.round(1_500 * Math.exp(0.3 * random.nextGaussian()));
+            if (!stats.observe(amount, time, SETTINGS).isEmpty()) {
+                flagged++;
+            }
+        }
+
+        assertThat(flagged).isLessThan(10);
+    }
+
+    // roughly daily expenses of about 15.00
+    private static long warmUp(SpendingStats stats, Random random, int count) {
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            time += (long) (DAY * (0.5 + random.nextDouble()));
+            stats.observe(Math.round(1_500 * Math.exp(0.3 * random.nextGaussian())), time, SETTINGS);
+        }
+        return time;
+    }
+}